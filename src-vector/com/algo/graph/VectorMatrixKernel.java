@@ -0,0 +1,105 @@
+package com.algo.graph;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link MatrixKernel} row updates on the preferred vector species.
+ *
+ * Full vectors run unmasked, the remainder of a row runs once under the mask
+ * of the lanes still in range. Only loaded by MatrixKernel when the
+ * jdk.incubator.vector module is present. Kept out of src so that the main
+ * tree builds without the incubator module; compile it against the classes
+ * of src with --add-modules jdk.incubator.vector.
+ */
+final class VectorMatrixKernel implements MatrixKernel.Lanes {
+
+	private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+	private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+	@Override
+	public void minPlus(final int[] dst, final int dstFrom, final int[] src, final int srcFrom, final int length,
+	        final int weight, final int max) {
+		int bound = INTS.loopBound(length);
+		int j = 0;
+		for (; j < bound; j += INTS.length()) {
+			minPlus(dst, dstFrom + j, src, srcFrom + j, weight, max, INTS.maskAll(true));
+		}
+		if (j < length) {
+			minPlus(dst, dstFrom + j, src, srcFrom + j, weight, max, INTS.indexInRange(j, length));
+		}
+	}
+
+	private static void minPlus(final int[] dst, final int dstFrom, final int[] src, final int srcFrom,
+	        final int weight, final int max, final VectorMask<Integer> lanes) {
+		IntVector sum = sum(src, srcFrom, weight, max, lanes);
+		IntVector.fromArray(INTS, dst, dstFrom, lanes).min(sum).intoArray(dst, dstFrom, lanes);
+	}
+
+	@Override
+	public void minPlus(final int[] dst, final int[] dstParent, final int dstFrom, final int[] src,
+	        final int[] srcParent, final int srcFrom, final int length, final int weight, final int max) {
+		int bound = INTS.loopBound(length);
+		int j = 0;
+		for (; j < bound; j += INTS.length()) {
+			minPlus(dst, dstParent, dstFrom + j, src, srcParent, srcFrom + j, weight, max, INTS.maskAll(true));
+		}
+		if (j < length) {
+			minPlus(dst, dstParent, dstFrom + j, src, srcParent, srcFrom + j, weight, max,
+			        INTS.indexInRange(j, length));
+		}
+	}
+
+	private static void minPlus(final int[] dst, final int[] dstParent, final int dstFrom, final int[] src,
+	        final int[] srcParent, final int srcFrom, final int weight, final int max,
+	        final VectorMask<Integer> lanes) {
+		IntVector sum = sum(src, srcFrom, weight, max, lanes);
+		VectorMask<Integer> shorter = sum.lt(IntVector.fromArray(INTS, dst, dstFrom, lanes)).and(lanes);
+		sum.intoArray(dst, dstFrom, shorter);
+		IntVector.fromArray(INTS, srcParent, srcFrom, shorter).intoArray(dstParent, dstFrom, shorter);
+	}
+
+	/**
+	 * weight + src[j] where a sum with max stays max.
+	 */
+	private static IntVector sum(final int[] src, final int srcFrom, final int weight, final int max,
+	        final VectorMask<Integer> lanes) {
+		if (weight == max) {
+			return IntVector.broadcast(INTS, max);
+		}
+		IntVector value = IntVector.fromArray(INTS, src, srcFrom, lanes);
+		return value.add(weight).blend(max, value.eq(max));
+	}
+
+	@Override
+	public void orAnd(final int[] dst, final int dstFrom, final int[] src, final int srcFrom, final int length) {
+		int bound = INTS.loopBound(length);
+		int j = 0;
+		for (; j < bound; j += INTS.length()) {
+			IntVector.fromArray(INTS, dst, dstFrom + j).or(IntVector.fromArray(INTS, src, srcFrom + j))
+			        .intoArray(dst, dstFrom + j);
+		}
+		if (j < length) {
+			VectorMask<Integer> lanes = INTS.indexInRange(j, length);
+			IntVector.fromArray(INTS, dst, dstFrom + j, lanes).or(IntVector.fromArray(INTS, src, srcFrom + j, lanes))
+			        .intoArray(dst, dstFrom + j, lanes);
+		}
+	}
+
+	@Override
+	public void or(final long[] dst, final long[] src) {
+		int bound = LONGS.loopBound(dst.length);
+		int j = 0;
+		for (; j < bound; j += LONGS.length()) {
+			LongVector.fromArray(LONGS, dst, j).or(LongVector.fromArray(LONGS, src, j)).intoArray(dst, j);
+		}
+		if (j < dst.length) {
+			VectorMask<Long> lanes = LONGS.indexInRange(j, dst.length);
+			LongVector.fromArray(LONGS, dst, j, lanes).or(LongVector.fromArray(LONGS, src, j, lanes))
+			        .intoArray(dst, j, lanes);
+		}
+	}
+
+}
@@ -1,5 +1,6 @@
 package com.algo.graph;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -13,6 +14,7 @@ public class ALGraph<T> implements Cloneable {
 	private final Map<Vertex<T>, Map<Vertex<T>, Integer>> adjacencyList;
 	private final boolean isDirected;
 	private final Set<Vertex<T>> vertices;
+	private long version;
 
 	public ALGraph(final boolean isDirected) {
 		this.adjacencyList = new HashMap<>();
@@ -30,6 +32,7 @@ public class ALGraph<T> implements Cloneable {
 		if (!isDirected) {
 			update(adjacencyList, vertex2, vertex1, weight);
 		}
+		version++;
 		return this;
 	}
 
@@ -51,6 +54,28 @@ public class ALGraph<T> implements Cloneable {
 		return adjacencyList.get(vertex1).get(vertex2);
 	}
 
+	/**
+	 * The vertex links in graph with their weights.
+	 */
+	public Map<Vertex<T>, Integer> getEdges(final Vertex<T> vertex) {
+		Map<Vertex<T>, Integer> map = adjacencyList.get(vertex);
+		if (map == null) {
+			return Collections.emptyMap();
+		}
+		return map;
+	}
+
+	public boolean isDirected() {
+		return isDirected;
+	}
+
+	/**
+	 * Stamp of the graph contents, changes with every added edge.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
 	/**
 	 * The vertices in the graph.
 	 */
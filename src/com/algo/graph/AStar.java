@@ -0,0 +1,156 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Point to point shortest path with positive weight edges, Dijkstra guided
+ * towards the target by a lower bound on the remaining distance.
+ *
+ * Vertices are taken in order of distance from the source plus the estimate to
+ * the target. With an estimate that never exceeds the true distance the path
+ * found is a shortest one; with a consistent estimate no vertex is taken twice.
+ */
+public class AStar<T> {
+
+	/**
+	 * Lower bound on the distance from vertex to target.
+	 */
+	public interface Heuristic {
+		long estimate(int vertex, int target);
+	}
+
+	private final CompactGraph<T> graph;
+	private final Heuristic heuristic;
+	private final TraversalStatePool pool;
+
+	public AStar(final CompactGraph<T> graph, final Heuristic heuristic) {
+		this.graph = graph;
+		this.heuristic = heuristic;
+		this.pool = new TraversalStatePool(graph.vertexCount());
+	}
+
+	/**
+	 * Shortest path, null when the target is not reachable.
+	 */
+	public ShortestPath<T> query(final Vertex<T> source, final Vertex<T> target) {
+		int s = graph.index(source);
+		int t = graph.index(target);
+		return s < 0 || t < 0 ? null : query(s, t);
+	}
+
+	/**
+	 * Shortest path, null when the target is not reachable.
+	 */
+	public ShortestPath<T> query(final int source, final int target) {
+		return search(source, target).getPath();
+	}
+
+	/**
+	 * Shortest path and the number of vertices taken from the queue to find
+	 * it.
+	 */
+	public Result<T> search(final Vertex<T> source, final Vertex<T> target) {
+		int s = graph.index(source);
+		int t = graph.index(target);
+		return s < 0 || t < 0 ? new Result<>(null, 0) : search(s, t);
+	}
+
+	/**
+	 * Shortest path and the number of vertices taken from the queue to find
+	 * it.
+	 */
+	public Result<T> search(final int source, final int target) {
+		TraversalState state = pool.acquire();
+		try {
+			state.setDistance(source, 0);
+			IndexedHeap queue = state.heap();
+			queue.insert(source, heuristic.estimate(source, target));
+			int settled = 0;
+			boolean found = false;
+			while (!queue.isEmpty()) {
+				int vertex = queue.poll();
+				settled++;
+				if (vertex == target) {
+					found = true;
+					break;
+				}
+				long distance = state.distance(vertex);
+				for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+					int node = graph.target(e);
+					long key = distance + graph.weight(e);
+					if (key < state.distance(node)) {
+						state.setDistance(node, key);
+						state.setParent(node, vertex);
+						queue.insertOrDecrease(node, key + heuristic.estimate(node, target));
+					}
+				}
+			}
+			if (!found) {
+				return new Result<>(null, settled);
+			}
+			List<Vertex<T>> vertices = new ArrayList<>();
+			for (int node = target; node >= 0; node = state.parent(node)) {
+				vertices.add(0, graph.vertex(node));
+			}
+			return new Result<>(new ShortestPath<>(vertices, state.distance(target)), settled);
+		} finally {
+			pool.release(state);
+		}
+	}
+
+	/**
+	 * Outcome of one search.
+	 */
+	public static class Result<T> {
+		private final ShortestPath<T> path;
+		private final int settled;
+
+		Result(final ShortestPath<T> path, final int settled) {
+			this.path = path;
+			this.settled = settled;
+		}
+
+		/**
+		 * Shortest path, null when the target is not reachable.
+		 */
+		public ShortestPath<T> getPath() {
+			return path;
+		}
+
+		/**
+		 * The number of vertices taken from the queue.
+		 */
+		public int getSettled() {
+			return settled;
+		}
+
+		@Override
+		public String toString() {
+			return path + " settled " + settled;
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		AStar<String> dijkstra = new AStar<>(csr, (vertex, target) -> 0);
+		System.out.println(dijkstra.search(s, x));
+
+		AStar<String> alt = new AStar<>(csr, Landmarks.farthest(csr, 2));
+		System.out.println(alt.search(s, x));
+	}
+
+}
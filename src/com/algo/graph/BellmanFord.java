@@ -1,6 +1,11 @@
 package com.algo.graph;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -12,9 +17,12 @@ public class BellmanFord<T> {
 
 	private final Set<Vertex<T>> vertices;
 
+	private List<Vertex<T>> cycle;
+
 	public BellmanFord() {
 		this.edges = new HashSet<>();
 		this.vertices = new HashSet<>();
+		this.cycle = Collections.emptyList();
 	}
 
 	/**
@@ -51,6 +59,149 @@ public class BellmanFord<T> {
 		return result;
 	}
 
+	/**
+	 * Single source shortest path relaxing only the out edges of vertices whose
+	 * key changed, in first in first out order. Every vertex starts in the
+	 * queue, as every edge is relaxed in the first pass of {@link #compute}, so
+	 * the keys end the same. Returns as soon as the queue runs empty. After
+	 * every |V| relaxations the parent pointers are walked, a cycle among them
+	 * is a negative weight cycle and ends the computation.
+	 */
+	public boolean queueCompute(final Vertex<T> source) {
+		source.setKey(0);
+		source.setParent(null);
+		cycle = Collections.emptyList();
+
+		List<Vertex<T>> list = new ArrayList<>(vertices);
+		Map<Vertex<T>, Integer> indexMap = new HashMap<>();
+		int size = list.size();
+		for (int i = 0; i < size; i++) {
+			indexMap.put(list.get(i), i);
+		}
+		int[] offsets = new int[size + 1];
+		int[] sources = new int[edges.size()];
+		int[] targets = new int[edges.size()];
+		int[] weights = new int[edges.size()];
+		int count = 0;
+		for (Edge<T> edge : edges) {
+			sources[count] = indexMap.get(edge.getVertex1());
+			targets[count] = indexMap.get(edge.getVertex2());
+			weights[count] = edge.getWeight();
+			offsets[sources[count] + 1]++;
+			count++;
+		}
+		for (int i = 0; i < size; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] next = offsets.clone();
+		int[] ltargets = new int[count];
+		int[] lweights = new int[count];
+		for (int e = 0; e < count; e++) {
+			int pos = next[sources[e]]++;
+			ltargets[pos] = targets[e];
+			lweights[pos] = weights[e];
+		}
+
+		int[] key = new int[size];
+		int[] parent = new int[size];
+		for (int i = 0; i < size; i++) {
+			Vertex<T> vertex = list.get(i);
+			key[i] = vertex.getKey();
+			Integer index = vertex.getParent() == null ? null : indexMap.get(vertex.getParent());
+			parent[i] = index == null ? -1 : index;
+		}
+
+		// circular queue, a vertex is in it at most once.
+		int[] queue = new int[size];
+		boolean[] queued = new boolean[size];
+		int head = 0;
+		int length = size;
+		for (int i = 0; i < size; i++) {
+			queue[i] = i;
+			queued[i] = true;
+		}
+		long relaxations = 0;
+		boolean result = true;
+		while (length > 0) {
+			int vertex = queue[head];
+			head = head + 1 == size ? 0 : head + 1;
+			length--;
+			queued[vertex] = false;
+			for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+				int node = ltargets[e];
+				if (key[node] > key[vertex] + lweights[e]) {
+					key[node] = key[vertex] + lweights[e];
+					parent[node] = vertex;
+					if (!queued[node]) {
+						queue[(head + length) % size] = node;
+						queued[node] = true;
+						length++;
+					}
+					if (++relaxations % size == 0) {
+						int start = findCycle(parent);
+						if (start >= 0) {
+							cycle = cycle(list, parent, start);
+							result = false;
+							length = 0;
+							break;
+						}
+					}
+				}
+			}
+		}
+
+		for (int i = 0; i < size; i++) {
+			Vertex<T> vertex = list.get(i);
+			vertex.setKey(key[i]);
+			vertex.setParent(parent[i] < 0 ? null : list.get(parent[i]));
+		}
+		return result;
+	}
+
+	/**
+	 * Walk up the parent pointers from every vertex, marking the vertices with
+	 * the walk number, and return a vertex on a cycle or -1. A walk ends at a
+	 * vertex marked by an earlier walk, so every vertex is visited once.
+	 */
+	private int findCycle(final int[] parent) {
+		int[] walk = new int[parent.length];
+		for (int i = 0; i < parent.length; i++) {
+			if (walk[i] != 0) {
+				continue;
+			}
+			int node = i;
+			while (node >= 0 && walk[node] == 0) {
+				walk[node] = i + 1;
+				node = parent[node];
+			}
+			if (node >= 0 && walk[node] == i + 1) {
+				return node;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The cycle through start in edge order.
+	 */
+	private List<Vertex<T>> cycle(final List<Vertex<T>> list, final int[] parent, final int start) {
+		List<Vertex<T>> result = new ArrayList<>();
+		int node = start;
+		do {
+			result.add(0, list.get(node));
+			node = parent[node];
+		} while (node != start);
+		return result;
+	}
+
+	/**
+	 * The negative weight cycle found by the last {@link #queueCompute}, empty
+	 * when there is none.
+	 */
+	public List<Vertex<T>> negativeCycle() {
+		return cycle;
+	}
+
 	private boolean hasNegativeCycle(final Edge<T> edge) {
 		boolean result = false;
 		if (edge.getVertex2().getKey() > edge.getVertex1().getKey() + edge.getWeight()) {
@@ -108,6 +259,18 @@ public class BellmanFord<T> {
 		} else {
 			System.out.println("Has negative weight cycle");
 		}
+
+		bf.addEdge(x, s, -10);
+		result = bf.queueCompute(s);
+
+		if (result) {
+			for (Vertex<String> vertex : vertices) {
+				System.out.println("---" + vertex.toString() + "---");
+				System.out.println(bf.printPath(vertex));
+			}
+		} else {
+			System.out.println("Has negative weight cycle " + bf.negativeCycle());
+		}
 	}
 
 }
@@ -0,0 +1,199 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Point to point shortest path, searching forward from the source and
+ * backward from the target over the transposed graph until the two searches
+ * meet.
+ */
+public class BidirectionalSearch<T> {
+
+	private final CompactGraph<T> graph;
+	private final CompactGraph<T> tgraph;
+	private final TraversalStatePool pool;
+
+	public BidirectionalSearch(final CompactGraph<T> graph) {
+		this.graph = graph;
+		this.tgraph = graph.isDirected() ? graph.transpose() : graph;
+		this.pool = new TraversalStatePool(graph.vertexCount());
+	}
+
+	/**
+	 * Path with the fewest links, null when the target is not reachable.
+	 */
+	public ShortestPath<T> bfs(final Vertex<T> source, final Vertex<T> target) {
+		int s = graph.index(source);
+		int t = graph.index(target);
+		return s < 0 || t < 0 ? null : bfs(s, t);
+	}
+
+	/**
+	 * Path with the fewest links, null when the target is not reachable.
+	 */
+	public ShortestPath<T> bfs(final int source, final int target) {
+		TraversalState forward = pool.acquire();
+		TraversalState backward = pool.acquire();
+		try {
+			forward.setDistance(source, 0);
+			backward.setDistance(target, 0);
+			if (source == target) {
+				return path(forward, backward, source, 0);
+			}
+			int[] fqueue = forward.queue();
+			int[] bqueue = backward.queue();
+			fqueue[0] = source;
+			bqueue[0] = target;
+			int fhead = 0;
+			int ftail = 1;
+			int bhead = 0;
+			int btail = 1;
+			long best = TraversalState.INFINITY;
+			int meet = -1;
+			while (fhead < ftail && bhead < btail) {
+				// expand one whole level of the smaller frontier.
+				boolean isForward = ftail - fhead <= btail - bhead;
+				CompactGraph<T> side = isForward ? graph : tgraph;
+				TraversalState state = isForward ? forward : backward;
+				TraversalState other = isForward ? backward : forward;
+				int[] queue = isForward ? fqueue : bqueue;
+				int head = isForward ? fhead : bhead;
+				int tail = isForward ? ftail : btail;
+				int end = tail;
+				for (; head < end; head++) {
+					int vertex = queue[head];
+					long distance = state.distance(vertex) + 1;
+					for (long e = side.begin(vertex), last = side.end(vertex); e < last; e++) {
+						int node = side.target(e);
+						if (other.isTouched(node) && distance + other.distance(node) < best) {
+							best = distance + other.distance(node);
+							meet = node;
+						}
+						if (!state.isTouched(node)) {
+							state.setDistance(node, distance);
+							state.setParent(node, vertex);
+							queue[tail++] = node;
+						}
+					}
+				}
+				if (isForward) {
+					fhead = head;
+					ftail = tail;
+				} else {
+					bhead = head;
+					btail = tail;
+				}
+				if (meet >= 0) {
+					return path(forward, backward, meet, best);
+				}
+			}
+			return null;
+		} finally {
+			pool.release(forward);
+			pool.release(backward);
+		}
+	}
+
+	/**
+	 * Shortest path with positive weight edges, null when the target is not
+	 * reachable.
+	 */
+	public ShortestPath<T> dijkstra(final Vertex<T> source, final Vertex<T> target) {
+		int s = graph.index(source);
+		int t = graph.index(target);
+		return s < 0 || t < 0 ? null : dijkstra(s, t);
+	}
+
+	/**
+	 * Shortest path with positive weight edges, null when the target is not
+	 * reachable.
+	 *
+	 * Settles the side with the smaller queue key and stops once the two
+	 * smallest keys add up to no less than the best meeting found.
+	 */
+	public ShortestPath<T> dijkstra(final int source, final int target) {
+		TraversalState forward = pool.acquire();
+		TraversalState backward = pool.acquire();
+		try {
+			forward.setDistance(source, 0);
+			backward.setDistance(target, 0);
+			if (source == target) {
+				return path(forward, backward, source, 0);
+			}
+			IndexedHeap fqueue = forward.heap();
+			IndexedHeap bqueue = backward.heap();
+			fqueue.insert(source, 0);
+			bqueue.insert(target, 0);
+			long best = TraversalState.INFINITY;
+			int meet = -1;
+			while (!fqueue.isEmpty() && !bqueue.isEmpty()) {
+				if (fqueue.peekKey() + bqueue.peekKey() >= best) {
+					break;
+				}
+				boolean isForward = fqueue.peekKey() <= bqueue.peekKey();
+				CompactGraph<T> side = isForward ? graph : tgraph;
+				TraversalState state = isForward ? forward : backward;
+				TraversalState other = isForward ? backward : forward;
+				IndexedHeap queue = isForward ? fqueue : bqueue;
+				int vertex = queue.poll();
+				state.setColor(vertex, TraversalState.BLACK);
+				long distance = state.distance(vertex);
+				for (long e = side.begin(vertex), end = side.end(vertex); e < end; e++) {
+					int node = side.target(e);
+					long key = distance + side.weight(e);
+					if (key < state.distance(node)) {
+						state.setDistance(node, key);
+						state.setParent(node, vertex);
+						queue.insertOrDecrease(node, key);
+					}
+					if (other.isTouched(node) && key + other.distance(node) < best) {
+						best = key + other.distance(node);
+						meet = node;
+					}
+				}
+			}
+			return meet < 0 ? null : path(forward, backward, meet, best);
+		} finally {
+			pool.release(forward);
+			pool.release(backward);
+		}
+	}
+
+	/**
+	 * Join the forward tree from the source and the backward tree to the
+	 * target at the meeting vertex.
+	 */
+	private ShortestPath<T> path(final TraversalState forward, final TraversalState backward, final int meet,
+	        final long cost) {
+		List<Vertex<T>> vertices = new ArrayList<>();
+		for (int node = meet; node >= 0; node = forward.parent(node)) {
+			vertices.add(0, graph.vertex(node));
+		}
+		for (int node = backward.parent(meet); node >= 0; node = backward.parent(node)) {
+			vertices.add(graph.vertex(node));
+		}
+		return new ShortestPath<>(vertices, cost);
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		BidirectionalSearch<String> search = new BidirectionalSearch<>(new CSRGraph<>(graph));
+		System.out.println(search.bfs(s, x));
+		System.out.println(search.dijkstra(s, x));
+		System.out.println(search.dijkstra(x, t));
+	}
+
+}
@@ -0,0 +1,132 @@
+package com.algo.graph;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Transitive closure of a directed graph with bitset rows.
+ *
+ * Row 'i' holds one bit per vertex, 64 to a long. For each 'k' every row that
+ * reaches 'k' takes the bits of row 'k'; the rows are updated in parallel
+ * since only row 'k' is read and it does not change in its own step.
+ */
+public class BitTransitiveClosure {
+
+	private final long[][] rows;
+	private final int size;
+	private final ForkJoinPool pool;
+
+	public BitTransitiveClosure(final AMGraph<?> graph) {
+		this(graph.getSize(), ForkJoinPool.commonPool());
+		for (int i = 0; i < size; i++) {
+			for (int j = 0; j < size; j++) {
+				if (graph.hasEdge(i, j)) {
+					set(i, j);
+				}
+			}
+		}
+	}
+
+	public BitTransitiveClosure(final CompactGraph<?> graph) {
+		this(graph, ForkJoinPool.commonPool());
+	}
+
+	public BitTransitiveClosure(final CompactGraph<?> graph, final ForkJoinPool pool) {
+		this(graph.vertexCount(), pool);
+		for (int i = 0; i < size; i++) {
+			for (long e = graph.begin(i), end = graph.end(i); e < end; e++) {
+				set(i, graph.target(e));
+			}
+		}
+	}
+
+	private BitTransitiveClosure(final int size, final ForkJoinPool pool) {
+		this.size = size;
+		this.pool = pool;
+		this.rows = new long[size][(size + 63) >>> 6];
+		for (int i = 0; i < size; i++) {
+			set(i, i);
+		}
+	}
+
+	private void set(final int i, final int j) {
+		rows[i][j >>> 6] |= 1L << j;
+	}
+
+	/**
+	 * The transitive closure.
+	 */
+	public BitTransitiveClosure compute() {
+		for (int k = 0; k < size; k++) {
+			final int vertex = k;
+			final int word = k >>> 6;
+			final long bit = 1L << k;
+			final long[] row = rows[k];
+			ParallelRange.run(pool, 0, size, (from, to) -> {
+				for (int i = from; i < to; i++) {
+					if (i != vertex && (rows[i][word] & bit) != 0) {
+						MatrixKernel.or(rows[i], row);
+					}
+				}
+			});
+		}
+		return this;
+	}
+
+	/**
+	 * Whether there is a path from vertex i to vertex j.
+	 */
+	public boolean reachable(final int i, final int j) {
+		return (rows[i][j >>> 6] & (1L << j)) != 0;
+	}
+
+	/**
+	 * The number of vertices reachable from vertex i, itself included.
+	 */
+	public int count(final int i) {
+		int count = 0;
+		for (long word : rows[i]) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Display the transitive closure.
+	 */
+	public void display(final CompactGraph<?> graph) {
+		System.out.print("    ");
+		for (int k = 0; k < size; k++) {
+			System.out.print(String.format("%-3s", graph.vertex(k).toString()));
+		}
+		System.out.println("");
+		for (int i = 0; i < size; i++) {
+			System.out.print(graph.vertex(i).toString() + "   ");
+			for (int j = 0; j < size; j++) {
+				System.out.print(String.format("%-3s", reachable(i, j) ? 1 : 0));
+			}
+			System.out.println("");
+		}
+		System.out.println("");
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<Integer> vertex0 = new Vertex<>(0);
+		Vertex<Integer> vertex1 = new Vertex<>(1);
+		Vertex<Integer> vertex2 = new Vertex<>(2);
+		Vertex<Integer> vertex3 = new Vertex<>(3);
+
+		CSRGraph<Integer> dgraph = new CSRGraph.Builder<Integer>(true).addVertex(vertex0).addVertex(vertex1)
+		        .addVertex(vertex2).addVertex(vertex3).addEdge(vertex1, vertex3, 1).addEdge(vertex1, vertex2, 1)
+		        .addEdge(vertex2, vertex1, 1).addEdge(vertex3, vertex0, 1).addEdge(vertex3, vertex2, 1).build();
+
+		dgraph.displayGraph();
+		System.out.println("");
+
+		BitTransitiveClosure tc = new BitTransitiveClosure(dgraph);
+		tc.compute().display(dgraph);
+	}
+
+}
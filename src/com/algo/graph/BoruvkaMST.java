@@ -0,0 +1,199 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Boruvka's Minimum Spanning Tree on a fork/join pool.
+ *
+ * Every round finds the cheapest edge leaving each component in parallel and
+ * merges the components along those edges with a lock free disjoint set. Ties
+ * are broken by edge position so the chosen edges never form a cycle.
+ */
+public class BoruvkaMST<T> {
+
+	private static final long NONE = Long.MAX_VALUE;
+
+	private final List<Edge<T>> edges;
+	private final Set<Edge<T>> edgeSet;
+	private final Map<Vertex<T>, Integer> indexMap;
+	private final ForkJoinPool pool;
+
+	public BoruvkaMST() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public BoruvkaMST(final ForkJoinPool pool) {
+		this.edges = new ArrayList<>();
+		this.edgeSet = new HashSet<>();
+		this.indexMap = new HashMap<>();
+		this.pool = pool;
+	}
+
+	/**
+	 * Take the edges of an undirected graph.
+	 */
+	public BoruvkaMST(final ALGraph<T> graph) {
+		this();
+		for (Vertex<T> vertex : graph.vertices()) {
+			for (Map.Entry<Vertex<T>, Integer> entry : graph.getEdges(vertex).entrySet()) {
+				addEdge(vertex, entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	public BoruvkaMST<T> addEdge(final Vertex<T> vertex1, final Vertex<T> vertex2, final int weight) {
+		addVertex(vertex1);
+		addVertex(vertex2);
+		Edge<T> edge = new Edge<>(vertex1, vertex2, false, weight);
+		Edge<T> reverse = new Edge<>(vertex2, vertex1, false, weight);
+		if (!edgeSet.contains(reverse) && edgeSet.add(edge)) {
+			edges.add(edge);
+		}
+		return this;
+	}
+
+	private void addVertex(final Vertex<T> vertex) {
+		if (!indexMap.containsKey(vertex)) {
+			indexMap.put(vertex, indexMap.size());
+		}
+	}
+
+	/**
+	 * Minimum Spanning Tree, or forest when the graph is not connected.
+	 */
+	public Set<Edge<T>> compute() {
+		final int size = indexMap.size();
+		final int count = edges.size();
+		final int[] vertices1 = new int[count];
+		final int[] vertices2 = new int[count];
+		final long[] keys = new long[count];
+		for (int i = 0; i < count; i++) {
+			Edge<T> edge = edges.get(i);
+			vertices1[i] = indexMap.get(edge.getVertex1());
+			vertices2[i] = indexMap.get(edge.getVertex2());
+			// weight in the high half, position in the low half.
+			keys[i] = ((long) edge.getWeight() << 32) | i;
+		}
+
+		final AtomicIntegerArray parent = new AtomicIntegerArray(size);
+		final AtomicLongArray cheapest = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			parent.set(i, i);
+			cheapest.set(i, NONE);
+		}
+		final boolean[] inside = new boolean[count];
+		final boolean[] chosen = new boolean[count];
+
+		boolean merged = true;
+		while (merged) {
+			ParallelRange.run(pool, 0, count, (from, to) -> {
+				for (int e = from; e < to; e++) {
+					if (inside[e]) {
+						continue;
+					}
+					int root1 = find(parent, vertices1[e]);
+					int root2 = find(parent, vertices2[e]);
+					if (root1 == root2) {
+						inside[e] = true;
+					} else {
+						minimum(cheapest, root1, keys[e]);
+						minimum(cheapest, root2, keys[e]);
+					}
+				}
+			});
+
+			final boolean[] progress = new boolean[1];
+			ParallelRange.run(pool, 0, size, (from, to) -> {
+				for (int v = from; v < to; v++) {
+					long key = cheapest.get(v);
+					if (key != NONE) {
+						cheapest.set(v, NONE);
+						int e = (int) key;
+						if (union(parent, vertices1[e], vertices2[e])) {
+							chosen[e] = true;
+							progress[0] = true;
+						}
+					}
+				}
+			});
+			merged = progress[0];
+		}
+
+		Set<Edge<T>> mst = new HashSet<>();
+		for (int e = 0; e < count; e++) {
+			if (chosen[e]) {
+				mst.add(edges.get(e));
+			}
+		}
+		return mst;
+	}
+
+	private static void minimum(final AtomicLongArray cheapest, final int index, final long key) {
+		long current = cheapest.get(index);
+		while (key < current && !cheapest.compareAndSet(index, current, key)) {
+			current = cheapest.get(index);
+		}
+	}
+
+	private static int find(final AtomicIntegerArray parent, int element) {
+		int next = parent.get(element);
+		while (next != element) {
+			int grand = parent.get(next);
+			parent.compareAndSet(element, next, grand);
+			element = next;
+			next = grand;
+		}
+		return element;
+	}
+
+	/**
+	 * Link the root with the larger index under the other, so concurrent links
+	 * never form a cycle.
+	 */
+	private static boolean union(final AtomicIntegerArray parent, final int element1, final int element2) {
+		while (true) {
+			int root1 = find(parent, element1);
+			int root2 = find(parent, element2);
+			if (root1 == root2) {
+				return false;
+			}
+			int high = Math.max(root1, root2);
+			int low = Math.min(root1, root2);
+			if (parent.compareAndSet(high, high, low)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> a = new Vertex<>("a");
+		Vertex<String> b = new Vertex<>("b");
+		Vertex<String> c = new Vertex<>("c");
+		Vertex<String> d = new Vertex<>("d");
+		Vertex<String> e = new Vertex<>("e");
+		Vertex<String> f = new Vertex<>("f");
+		Vertex<String> g = new Vertex<>("g");
+		Vertex<String> h = new Vertex<>("h");
+		Vertex<String> i = new Vertex<>("i");
+
+		BoruvkaMST<String> boruvka = new BoruvkaMST<>();
+		boruvka.addEdge(a, b, 4).addEdge(b, c, 8).addEdge(c, d, 7).addEdge(d, e, 9).addEdge(e, f, 10).addEdge(f, d, 14)
+		        .addEdge(f, c, 4).addEdge(f, g, 2).addEdge(g, i, 6).addEdge(i, c, 2).addEdge(g, h, 1).addEdge(h, i, 7)
+		        .addEdge(h, b, 11).addEdge(a, h, 8);
+
+		Set<Edge<String>> mst = boruvka.compute();
+		System.out.println(mst.toString());
+	}
+
+}
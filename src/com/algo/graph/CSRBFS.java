@@ -0,0 +1,100 @@
+package com.algo.graph;
+
+/**
+ * Breadth First Search over a Compressed Sparse Row graph.
+ */
+public class CSRBFS {
+
+	private final CompactGraph<?> graph;
+	private final TraversalStatePool pool;
+
+	public CSRBFS(final CompactGraph<?> graph) {
+		this.graph = graph;
+		this.pool = new TraversalStatePool(graph.vertexCount());
+	}
+
+	/**
+	 * Compute the Breadth First Tree in a pooled state, release it when done.
+	 */
+	public TraversalState compute(final int source) {
+		TraversalState state = pool.acquire();
+		compute(source, state);
+		return state;
+	}
+
+	/**
+	 * Compute the Breadth First Tree, distances count links from the source.
+	 */
+	public void compute(final int source, final TraversalState state) {
+		state.reset();
+		int[] queue = state.queue();
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = source;
+		state.setColor(source, TraversalState.GRAY);
+		state.setDistance(source, 0);
+		while (head < tail) {
+			int vertex = queue[head++];
+			long distance = state.distance(vertex) + 1;
+			for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+				int node = graph.target(e);
+				if (state.color(node) == TraversalState.WHITE) {
+					state.setColor(node, TraversalState.GRAY);
+					state.setDistance(node, distance);
+					state.setParent(node, vertex);
+					queue[tail++] = node;
+				}
+			}
+			state.setColor(vertex, TraversalState.BLACK);
+		}
+	}
+
+	/**
+	 * Give back a state returned by {@link #compute(int)}.
+	 */
+	public void release(final TraversalState state) {
+		pool.release(state);
+	}
+
+	/**
+	 * Print path from source to vertex.
+	 */
+	public void printPath(final TraversalState state, final int vertex) {
+		if (state.parent(vertex) < 0) {
+			System.out.print(graph.vertex(vertex).toString() + "[" + state.distance(vertex) + "]");
+		} else {
+			printPath(state, state.parent(vertex));
+			System.out.print("-> " + graph.vertex(vertex).toString() + "[" + state.distance(vertex) + "]");
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> r = new Vertex<>("r");
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> u = new Vertex<>("u");
+		Vertex<String> v = new Vertex<>("v");
+		Vertex<String> w = new Vertex<>("w");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(false);
+		graph.addEdge(r, v, 1).addEdge(r, s, 1).addEdge(s, w, 1).addEdge(t, w, 1).addEdge(w, x, 1).addEdge(t, x, 1)
+		        .addEdge(t, u, 1).addEdge(x, y, 1).addEdge(x, u, 1).addEdge(u, y, 1);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		CSRBFS bfs = new CSRBFS(csr);
+		TraversalState state = bfs.compute(csr.index(s));
+
+		for (int i = 0; i < csr.vertexCount(); i++) {
+			System.out.println("---" + csr.vertex(i).getValue() + "---");
+			bfs.printPath(state, i);
+			System.out.println("");
+		}
+		bfs.release(state);
+	}
+
+}
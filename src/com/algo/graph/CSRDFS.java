@@ -0,0 +1,142 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Depth First Search over a Compressed Sparse Row graph.
+ *
+ * Uses an explicit stack with a link cursor per vertex instead of recursion.
+ */
+public class CSRDFS {
+
+	private final CompactGraph<?> graph;
+	private final TraversalStatePool pool;
+
+	public CSRDFS(final CompactGraph<?> graph) {
+		this.graph = graph;
+		this.pool = new TraversalStatePool(graph.vertexCount());
+	}
+
+	/**
+	 * Compute the Depth First Forest visiting roots by index in a pooled state,
+	 * release it when done.
+	 */
+	public TraversalState compute() {
+		TraversalState state = pool.acquire();
+		compute(state);
+		return state;
+	}
+
+	/**
+	 * Compute the Depth First Forest visiting roots by index.
+	 */
+	public void compute(final TraversalState state) {
+		state.reset();
+		int time = 1;
+		int trees = 0;
+		for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+			if (state.color(vertex) == TraversalState.WHITE) {
+				time = computeInternal(state, vertex, time, trees++);
+			}
+		}
+	}
+
+	/**
+	 * Compute the Depth First Forest visiting roots in the given order.
+	 */
+	public void compute(final int[] vertices, final TraversalState state) {
+		state.reset();
+		int time = 1;
+		int trees = 0;
+		for (int vertex : vertices) {
+			if (state.color(vertex) == TraversalState.WHITE) {
+				time = computeInternal(state, vertex, time, trees++);
+			}
+		}
+	}
+
+	private int computeInternal(final TraversalState state, final int root, int time, final int tree) {
+		int[] stack = state.queue();
+		long[] cursor = state.cursor();
+		int top = 0;
+		stack[top++] = root;
+		state.setFirst(root, time++, tree);
+		cursor[root] = graph.begin(root);
+		while (top > 0) {
+			int vertex = stack[top - 1];
+			if (cursor[vertex] < graph.end(vertex)) {
+				int node = graph.target(cursor[vertex]++);
+				if (state.color(node) == TraversalState.WHITE) {
+					state.setFirst(node, time++, tree);
+					state.setParent(node, vertex);
+					cursor[node] = graph.begin(node);
+					stack[top++] = node;
+				}
+			} else {
+				top--;
+				state.setLast(vertex, time++);
+			}
+		}
+		return time;
+	}
+
+	/**
+	 * Give back a state returned by {@link #compute()}.
+	 */
+	public void release(final TraversalState state) {
+		pool.release(state);
+	}
+
+	public void printTopologicalSort(final TraversalState state) {
+		List<Vertex<?>> list = new ArrayList<>();
+		for (int vertex : state.finished()) {
+			list.add(graph.vertex(vertex));
+		}
+		System.out.println(list.toString());
+	}
+
+	/**
+	 * Print path from root to vertex.
+	 */
+	public void printPath(final TraversalState state, final int vertex) {
+		String s = " ";
+		for (int node = vertex; node >= 0; node = state.parent(node)) {
+			String value = graph.vertex(node).getValue().toString();
+			s = "(" + value + "[" + state.first(node) + "]" + s + value + "[" + state.last(node) + "]" + ")";
+		}
+		System.out.println(s);
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> a = new Vertex<>("a");
+		Vertex<String> b = new Vertex<>("b");
+		Vertex<String> c = new Vertex<>("c");
+		Vertex<String> d = new Vertex<>("d");
+		Vertex<String> e = new Vertex<>("e");
+		Vertex<String> f = new Vertex<>("f");
+		Vertex<String> g = new Vertex<>("g");
+		Vertex<String> h = new Vertex<>("h");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(a, b, 1).addEdge(b, e, 1).addEdge(e, a, 1).addEdge(b, f, 1).addEdge(e, f, 1).addEdge(b, c, 1)
+		        .addEdge(b, f, 1).addEdge(c, g, 1).addEdge(f, g, 1).addEdge(g, f, 1).addEdge(c, d, 1).addEdge(d, c, 1)
+		        .addEdge(g, h, 1).addEdge(d, h, 1).addEdge(h, h, 1);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		CSRDFS dfs = new CSRDFS(csr);
+		TraversalState state = dfs.compute();
+
+		for (int i = 0; i < csr.vertexCount(); i++) {
+			System.out.println("---" + csr.vertex(i).getValue() + "----");
+			dfs.printPath(state, i);
+		}
+		System.out.println("");
+		dfs.printTopologicalSort(state);
+		dfs.release(state);
+	}
+
+}
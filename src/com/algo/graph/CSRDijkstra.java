@@ -0,0 +1,93 @@
+package com.algo.graph;
+
+/**
+ * Single source shortest path with positive weight edges over a Compressed
+ * Sparse Row graph.
+ */
+public class CSRDijkstra {
+
+	private final CompactGraph<?> graph;
+	private final TraversalStatePool pool;
+
+	public CSRDijkstra(final CompactGraph<?> graph) {
+		this.graph = graph;
+		this.pool = new TraversalStatePool(graph.vertexCount());
+	}
+
+	/**
+	 * Single source shortest path in a pooled state, release it when done.
+	 */
+	public TraversalState compute(final int source) {
+		TraversalState state = pool.acquire();
+		compute(source, state);
+		return state;
+	}
+
+	/**
+	 * Single source shortest path.
+	 */
+	public void compute(final int source, final TraversalState state) {
+		state.reset();
+		state.setDistance(source, 0);
+		IndexedHeap queue = state.heap();
+		queue.insert(source, 0);
+		while (!queue.isEmpty()) {
+			int vertex = queue.poll();
+			state.setColor(vertex, TraversalState.BLACK);
+			long distance = state.distance(vertex);
+			for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+				int node = graph.target(e);
+				long key = distance + graph.weight(e);
+				if (key < state.distance(node)) {
+					state.setDistance(node, key);
+					state.setParent(node, vertex);
+					queue.insertOrDecrease(node, key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Give back a state returned by {@link #compute(int)}.
+	 */
+	public void release(final TraversalState state) {
+		pool.release(state);
+	}
+
+	/**
+	 * Print path from source.
+	 */
+	public String printPath(final TraversalState state, final int vertex) {
+		StringBuilder str = new StringBuilder();
+		for (int node = vertex; node >= 0; node = state.parent(node)) {
+			str.append("[").append(graph.vertex(node).getValue()).append("]").append("-->");
+		}
+		return str.toString();
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		CSRDijkstra dj = new CSRDijkstra(csr);
+		TraversalState state = dj.compute(csr.index(s));
+
+		for (int i = 0; i < csr.vertexCount(); i++) {
+			System.out.println("---" + csr.vertex(i).toString() + "---");
+			System.out.println(dj.printPath(state, i) + " " + state.distance(i));
+		}
+		dj.release(state);
+	}
+
+}
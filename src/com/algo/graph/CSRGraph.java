@@ -0,0 +1,276 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Graph Compressed Sparse Row representation.
+ *
+ * The links of vertex 'v' are targets[offsets[v]] .. targets[offsets[v + 1] - 1]
+ * with the matching weights. Vertices are numbered 0..n-1 and the dictionary
+ * maps them back to the {@link Vertex} objects. The graph is immutable.
+ */
+public class CSRGraph<T> implements CompactGraph<T> {
+
+	private final int[] offsets;
+	private final int[] targets;
+	private final int[] weights;
+	private final List<Vertex<T>> vertices;
+	private final Map<Vertex<T>, Integer> indexMap;
+	private final boolean isDirected;
+
+	/**
+	 * Build from an adjacency list graph.
+	 */
+	public CSRGraph(final ALGraph<T> graph) {
+		this.isDirected = graph.isDirected();
+		this.vertices = new ArrayList<>(graph.vertices());
+		this.indexMap = new HashMap<>();
+		for (int i = 0; i < vertices.size(); i++) {
+			indexMap.put(vertices.get(i), i);
+		}
+		int size = vertices.size();
+		this.offsets = new int[size + 1];
+		for (int i = 0; i < size; i++) {
+			offsets[i + 1] = offsets[i] + graph.getEdges(vertices.get(i)).size();
+		}
+		this.targets = new int[offsets[size]];
+		this.weights = new int[offsets[size]];
+		for (int i = 0; i < size; i++) {
+			int e = offsets[i];
+			for (Map.Entry<Vertex<T>, Integer> entry : graph.getEdges(vertices.get(i)).entrySet()) {
+				targets[e] = indexMap.get(entry.getKey());
+				weights[e] = entry.getValue();
+				e++;
+			}
+		}
+	}
+
+	private CSRGraph(final int[] offsets, final int[] targets, final int[] weights, final List<Vertex<T>> vertices,
+	        final Map<Vertex<T>, Integer> indexMap, final boolean isDirected) {
+		this.offsets = offsets;
+		this.targets = targets;
+		this.weights = weights;
+		this.vertices = vertices;
+		this.indexMap = indexMap;
+		this.isDirected = isDirected;
+	}
+
+	@Override
+	public int vertexCount() {
+		return vertices.size();
+	}
+
+	@Override
+	public long edgeCount() {
+		return targets.length;
+	}
+
+	@Override
+	public boolean isDirected() {
+		return isDirected;
+	}
+
+	@Override
+	public long begin(final int vertex) {
+		return offsets[vertex];
+	}
+
+	@Override
+	public long end(final int vertex) {
+		return offsets[vertex + 1];
+	}
+
+	public int degree(final int vertex) {
+		return offsets[vertex + 1] - offsets[vertex];
+	}
+
+	@Override
+	public int target(final long edge) {
+		return targets[(int) edge];
+	}
+
+	@Override
+	public int weight(final long edge) {
+		return weights[(int) edge];
+	}
+
+	@Override
+	public Vertex<T> vertex(final int index) {
+		return vertices.get(index);
+	}
+
+	@Override
+	public int index(final Vertex<T> vertex) {
+		Integer index = indexMap.get(vertex);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Approximate heap size of the arrays and the vertex index.
+	 */
+	long bytes() {
+		return 4L * offsets.length + 8L * targets.length + 56L * vertices.size() + 64;
+	}
+
+	@Override
+	public CSRGraph<T> transpose() {
+		int size = vertexCount();
+		int[] toffsets = new int[size + 1];
+		for (int e = 0; e < targets.length; e++) {
+			toffsets[targets[e] + 1]++;
+		}
+		for (int i = 0; i < size; i++) {
+			toffsets[i + 1] += toffsets[i];
+		}
+		int[] next = Arrays.copyOf(toffsets, size);
+		int[] ttargets = new int[targets.length];
+		int[] tweights = new int[targets.length];
+		for (int v = 0; v < size; v++) {
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				int pos = next[targets[e]]++;
+				ttargets[pos] = v;
+				tweights[pos] = weights[e];
+			}
+		}
+		return new CSRGraph<>(toffsets, ttargets, tweights, vertices, indexMap, isDirected);
+	}
+
+	/**
+	 * Print the graph.
+	 */
+	public void displayGraph() {
+		for (int v = 0; v < vertexCount(); v++) {
+			List<Vertex<T>> links = new ArrayList<>();
+			for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+				links.add(vertex(targets[e]));
+			}
+			System.out.println(vertex(v).toString() + "->" + links);
+		}
+	}
+
+	/**
+	 * Build a graph from a stream of edges.
+	 */
+	public static class Builder<T> {
+
+		private static final int SIZE = 16;
+
+		private final boolean isDirected;
+		private final List<Vertex<T>> vertices;
+		private final Map<Vertex<T>, Integer> indexMap;
+		private int[] sources;
+		private int[] targets;
+		private int[] weights;
+		private int count;
+
+		public Builder(final boolean isDirected) {
+			this.isDirected = isDirected;
+			this.vertices = new ArrayList<>();
+			this.indexMap = new HashMap<>();
+			this.sources = new int[SIZE];
+			this.targets = new int[SIZE];
+			this.weights = new int[SIZE];
+		}
+
+		/**
+		 * Add vertex to graph.
+		 */
+		public Builder<T> addVertex(final Vertex<T> vertex) {
+			index(vertex);
+			return this;
+		}
+
+		/**
+		 * Add edge to graph.
+		 */
+		public Builder<T> addEdge(final Vertex<T> vertex1, final Vertex<T> vertex2, final int weight) {
+			int index1 = index(vertex1);
+			int index2 = index(vertex2);
+			add(index1, index2, weight);
+			if (!isDirected) {
+				add(index2, index1, weight);
+			}
+			return this;
+		}
+
+		private int index(final Vertex<T> vertex) {
+			Integer index = indexMap.get(vertex);
+			if (index == null) {
+				index = vertices.size();
+				vertices.add(vertex);
+				indexMap.put(vertex, index);
+			}
+			return index;
+		}
+
+		private void add(final int source, final int target, final int weight) {
+			if (count == sources.length) {
+				sources = Arrays.copyOf(sources, count * 2);
+				targets = Arrays.copyOf(targets, count * 2);
+				weights = Arrays.copyOf(weights, count * 2);
+			}
+			sources[count] = source;
+			targets[count] = target;
+			weights[count] = weight;
+			count++;
+		}
+
+		/**
+		 * The graph, links keep the order they were added in.
+		 */
+		public CSRGraph<T> build() {
+			int size = vertices.size();
+			int[] offsets = new int[size + 1];
+			for (int e = 0; e < count; e++) {
+				offsets[sources[e] + 1]++;
+			}
+			for (int i = 0; i < size; i++) {
+				offsets[i + 1] += offsets[i];
+			}
+			int[] next = Arrays.copyOf(offsets, size);
+			int[] rtargets = new int[count];
+			int[] rweights = new int[count];
+			for (int e = 0; e < count; e++) {
+				int pos = next[sources[e]]++;
+				rtargets[pos] = targets[e];
+				rweights[pos] = weights[e];
+			}
+			return new CSRGraph<>(offsets, rtargets, rweights, new ArrayList<>(vertices), new HashMap<>(indexMap),
+			        isDirected);
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<Integer> vertex1 = new Vertex<>(1);
+		Vertex<Integer> vertex2 = new Vertex<>(2);
+		Vertex<Integer> vertex3 = new Vertex<>(3);
+		Vertex<Integer> vertex4 = new Vertex<>(4);
+		Vertex<Integer> vertex5 = new Vertex<>(5);
+		Vertex<Integer> vertex6 = new Vertex<>(6);
+
+		ALGraph<Integer> dgraph = new ALGraph<>(true);
+		dgraph.addEdge(vertex1, vertex2, 1).addEdge(vertex1, vertex4, 1).addEdge(vertex4, vertex2, 1)
+		        .addEdge(vertex2, vertex5, 1).addEdge(vertex5, vertex4, 1).addEdge(vertex3, vertex5, 1)
+		        .addEdge(vertex3, vertex6, 1).addEdge(vertex6, vertex6, 1);
+
+		CSRGraph<Integer> graph = new CSRGraph<>(dgraph);
+		graph.displayGraph();
+		System.out.println("");
+		graph.transpose().displayGraph();
+
+		System.out.println("---------------");
+
+		CSRGraph<Integer> ugraph = new CSRGraph.Builder<Integer>(false).addEdge(vertex1, vertex5, 1)
+		        .addEdge(vertex1, vertex2, 1).addEdge(vertex2, vertex5, 1).addEdge(vertex5, vertex4, 1)
+		        .addEdge(vertex2, vertex4, 1).addEdge(vertex2, vertex3, 1).addEdge(vertex3, vertex4, 1).build();
+		ugraph.displayGraph();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.algo.graph;
+
+/**
+ * Prim's Minimum Spanning Tree over an undirected Compressed Sparse Row graph.
+ */
+public class CSRPrimMST {
+
+	private final CompactGraph<?> graph;
+	private final TraversalStatePool pool;
+
+	public CSRPrimMST(final CompactGraph<?> graph) {
+		this.graph = graph;
+		this.pool = new TraversalStatePool(graph.vertexCount());
+	}
+
+	/**
+	 * Minimum Spanning Tree in a pooled state, release it when done.
+	 */
+	public TraversalState compute(final int vertex) {
+		TraversalState state = pool.acquire();
+		compute(vertex, state);
+		return state;
+	}
+
+	/**
+	 * Minimum Spanning Tree of the component containing the vertex, the key of
+	 * a vertex is the weight of the tree edge to its parent.
+	 */
+	public void compute(final int vertex, final TraversalState state) {
+		state.reset();
+		state.setDistance(vertex, 0);
+		IndexedHeap queue = state.heap();
+		queue.insert(vertex, 0);
+		while (!queue.isEmpty()) {
+			int node = queue.poll();
+			state.setColor(node, TraversalState.BLACK);
+			for (long e = graph.begin(node), end = graph.end(node); e < end; e++) {
+				int item = graph.target(e);
+				int weight = graph.weight(e);
+				if (state.color(item) != TraversalState.BLACK && weight < state.distance(item)) {
+					state.setDistance(item, weight);
+					state.setParent(item, node);
+					queue.insertOrDecrease(item, weight);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Give back a state returned by {@link #compute(int)}.
+	 */
+	public void release(final TraversalState state) {
+		pool.release(state);
+	}
+
+	public String printPath(final TraversalState state, final int vertex) {
+		StringBuilder str = new StringBuilder();
+		for (int node = vertex; node >= 0; node = state.parent(node)) {
+			str.append(graph.vertex(node).toString()).append("->");
+		}
+		return str.toString();
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> a = new Vertex<>("a");
+		Vertex<String> b = new Vertex<>("b");
+		Vertex<String> c = new Vertex<>("c");
+		Vertex<String> d = new Vertex<>("d");
+		Vertex<String> e = new Vertex<>("e");
+		Vertex<String> f = new Vertex<>("f");
+		Vertex<String> g = new Vertex<>("g");
+		Vertex<String> h = new Vertex<>("h");
+		Vertex<String> i = new Vertex<>("i");
+
+		ALGraph<String> graph = new ALGraph<>(false);
+		graph.addEdge(a, b, 4).addEdge(b, c, 8).addEdge(c, d, 7).addEdge(d, e, 9).addEdge(e, f, 10).addEdge(f, d, 14)
+		        .addEdge(f, c, 4).addEdge(f, g, 2).addEdge(g, i, 6).addEdge(i, c, 2).addEdge(g, h, 1).addEdge(h, i, 7)
+		        .addEdge(h, b, 11).addEdge(a, h, 8);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		CSRPrimMST prim = new CSRPrimMST(csr);
+		TraversalState state = prim.compute(csr.index(g));
+
+		for (int k = 0; k < csr.vertexCount(); k++) {
+			System.out.println("---" + csr.vertex(k).toString() + "---");
+			System.out.println(prim.printPath(state, k));
+		}
+		prim.release(state);
+	}
+
+}
@@ -0,0 +1,83 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strongly Connected Components of a Compressed Sparse Row graph.
+ */
+public class CSRStronglyConnectedComponents {
+
+	private final CompactGraph<?> graph;
+	private int count;
+
+	public CSRStronglyConnectedComponents(final CompactGraph<?> graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Strongly Connected Components, the component of each vertex.
+	 */
+	public int[] compute() {
+		TraversalState state = new TraversalState(graph.vertexCount());
+		new CSRDFS(graph).compute(state);
+		int[] ts = state.finished();
+
+		new CSRDFS(graph.transpose()).compute(ts, state);
+
+		int[] component = new int[graph.vertexCount()];
+		count = 0;
+		for (int vertex = 0; vertex < component.length; vertex++) {
+			component[vertex] = state.tree(vertex);
+			count = Math.max(count, component[vertex] + 1);
+		}
+		return component;
+	}
+
+	/**
+	 * The number of components found by the last computation.
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * Print the vertices of each component.
+	 */
+	public void display(final int[] component) {
+		List<List<Vertex<?>>> components = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			components.add(new ArrayList<Vertex<?>>());
+		}
+		for (int vertex = 0; vertex < component.length; vertex++) {
+			components.get(component[vertex]).add(graph.vertex(vertex));
+		}
+		for (int i = 0; i < count; i++) {
+			System.out.println("---" + i + "----");
+			System.out.println(components.get(i).toString());
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> a = new Vertex<>("a");
+		Vertex<String> b = new Vertex<>("b");
+		Vertex<String> c = new Vertex<>("c");
+		Vertex<String> d = new Vertex<>("d");
+		Vertex<String> e = new Vertex<>("e");
+		Vertex<String> f = new Vertex<>("f");
+		Vertex<String> g = new Vertex<>("g");
+		Vertex<String> h = new Vertex<>("h");
+
+		ALGraph<String> dgraph = new ALGraph<>(true);
+		dgraph.addEdge(a, b, 1).addEdge(b, e, 1).addEdge(e, a, 1).addEdge(b, f, 1).addEdge(e, f, 1).addEdge(b, c, 1)
+		        .addEdge(b, f, 1).addEdge(c, g, 1).addEdge(f, g, 1).addEdge(g, f, 1).addEdge(c, d, 1).addEdge(d, c, 1)
+		        .addEdge(g, h, 1).addEdge(d, h, 1).addEdge(h, h, 1);
+
+		CSRStronglyConnectedComponents scc = new CSRStronglyConnectedComponents(new CSRGraph<>(dgraph));
+		scc.display(scc.compute());
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.algo.graph;
+
+/**
+ * Graph stored as compressed rows of links, with vertices numbered 0..n-1.
+ *
+ * The links of vertex 'v' are at positions begin(v) .. end(v) - 1. Positions
+ * are long so that graphs stored outside the heap may hold more than 2^31
+ * links.
+ */
+public interface CompactGraph<T> {
+
+	/**
+	 * The number of vertices.
+	 */
+	int vertexCount();
+
+	/**
+	 * The number of stored links, an undirected edge counts twice.
+	 */
+	long edgeCount();
+
+	boolean isDirected();
+
+	/**
+	 * The position of the first link of the vertex.
+	 */
+	long begin(int vertex);
+
+	/**
+	 * The position after the last link of the vertex.
+	 */
+	long end(int vertex);
+
+	/**
+	 * The vertex the link at position points to.
+	 */
+	int target(long edge);
+
+	/**
+	 * The weight of the link at position.
+	 */
+	int weight(long edge);
+
+	/**
+	 * The vertex with the given index.
+	 */
+	Vertex<T> vertex(int index);
+
+	/**
+	 * The index of the vertex, -1 when it is not in the graph.
+	 */
+	int index(Vertex<T> vertex);
+
+	/**
+	 * The transpose graph, sharing the vertex numbering.
+	 */
+	CompactGraph<T> transpose();
+
+}
@@ -0,0 +1,539 @@
+package com.algo.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Point to point shortest path with positive weight edges over a contraction
+ * hierarchy.
+ *
+ * Preprocessing contracts the vertices one by one in order of importance. A
+ * contracted vertex is taken out of the graph and, where no witness path
+ * around it is found, the paths through it are kept as shortcut links between
+ * its remaining neighbours. Every link then leads up or down the order, and a
+ * query only searches upward, forward from the source and backward from the
+ * target, over a small part of the graph. Each shortcut remembers the vertex it
+ * bypasses so paths can be unpacked into links of the original graph.
+ * Shortcut weights are ints like those of the graph, preprocessing fails on a
+ * shortcut longer than Integer.MAX_VALUE.
+ */
+public class ContractionHierarchy<T> {
+
+	private static final int MAGIC = 0x43484348;
+	private static final int VERSION = 1;
+	private static final int SIMULATE_LIMIT = 50;
+	private static final int CONTRACT_LIMIT = 500;
+
+	private final CompactGraph<T> graph;
+	private final TraversalStatePool pool;
+	private int[] rank;
+	// upward links out of each vertex: target, weight, bypassed vertex.
+	private int[] fwdOffsets;
+	private int[] fwdTargets;
+	private int[] fwdWeights;
+	private int[] fwdMiddles;
+	// upward links into each vertex, searched backward from the target.
+	private int[] bwdOffsets;
+	private int[] bwdSources;
+	private int[] bwdWeights;
+	private int[] bwdMiddles;
+
+	public ContractionHierarchy(final CompactGraph<T> graph) {
+		this.graph = graph;
+		this.pool = new TraversalStatePool(graph.vertexCount());
+	}
+
+	/**
+	 * Contract all vertices, in order of least edge difference: shortcuts added
+	 * less links removed, plus the neighbours already contracted to spread the
+	 * order over the graph. Priorities are updated lazily when a vertex comes up.
+	 */
+	public ContractionHierarchy<T> compute() {
+		int size = graph.vertexCount();
+		Contraction contraction = new Contraction(size);
+		for (int vertex = 0; vertex < size; vertex++) {
+			for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+				int node = graph.target(e);
+				if (graph.weight(e) < 0) {
+					throw new IllegalArgumentException("negative weight edge from " + graph.vertex(vertex));
+				}
+				if (node != vertex) {
+					contraction.link(vertex, node, graph.weight(e), -1);
+				}
+			}
+		}
+
+		IndexedHeap queue = new IndexedHeap(size);
+		for (int vertex = 0; vertex < size; vertex++) {
+			queue.insert(vertex, contraction.priority(vertex));
+		}
+		rank = new int[size];
+		IntList[] fwd = new IntList[size];
+		IntList[] bwd = new IntList[size];
+		int order = 0;
+		while (!queue.isEmpty()) {
+			int vertex = queue.poll();
+			long priority = contraction.priority(vertex);
+			if (!queue.isEmpty() && priority > queue.peekKey()) {
+				queue.insert(vertex, priority);
+				continue;
+			}
+			rank[vertex] = order++;
+			fwd[vertex] = contraction.remaining(contraction.out[vertex]);
+			bwd[vertex] = contraction.remaining(contraction.in[vertex]);
+			contraction.contract(vertex);
+		}
+		fwdOffsets = new int[size + 1];
+		bwdOffsets = new int[size + 1];
+		fwdTargets = flatten(fwd, fwdOffsets, 0);
+		fwdWeights = flatten(fwd, fwdOffsets, 1);
+		fwdMiddles = flatten(fwd, fwdOffsets, 2);
+		bwdSources = flatten(bwd, bwdOffsets, 0);
+		bwdWeights = flatten(bwd, bwdOffsets, 1);
+		bwdMiddles = flatten(bwd, bwdOffsets, 2);
+		return this;
+	}
+
+	/**
+	 * One field of the link triples of every vertex as one array, filling the
+	 * offsets on the way.
+	 */
+	private static int[] flatten(final IntList[] lists, final int[] offsets, final int field) {
+		for (int v = 0; v < lists.length; v++) {
+			offsets[v + 1] = offsets[v] + lists[v].size() / 3;
+		}
+		int[] result = new int[offsets[lists.length]];
+		for (int v = 0; v < lists.length; v++) {
+			for (int i = field, pos = offsets[v]; i < lists[v].size(); i += 3, pos++) {
+				result[pos] = lists[v].get(i);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * The graph while it is contracted, links as (vertex, weight, bypassed
+	 * vertex) triples with at most one link per ordered pair.
+	 */
+	private final class Contraction {
+
+		private final IntList[] out;
+		private final IntList[] in;
+		private final boolean[] contracted;
+		private final int[] deleted;
+		private final TraversalState state;
+
+		Contraction(final int size) {
+			this.out = new IntList[size];
+			this.in = new IntList[size];
+			for (int i = 0; i < size; i++) {
+				out[i] = new IntList();
+				in[i] = new IntList();
+			}
+			this.contracted = new boolean[size];
+			this.deleted = new int[size];
+			this.state = new TraversalState(size);
+		}
+
+		/**
+		 * Add the link, or lower the weight of the one already there. False when
+		 * the existing link is as short.
+		 */
+		boolean link(final int source, final int target, final int weight, final int middle) {
+			int pos = find(out[source], target);
+			if (pos >= 0) {
+				if (out[source].get(pos + 1) <= weight) {
+					return false;
+				}
+				out[source].set(pos + 1, weight);
+				out[source].set(pos + 2, middle);
+				int tpos = find(in[target], source);
+				in[target].set(tpos + 1, weight);
+				in[target].set(tpos + 2, middle);
+				return true;
+			}
+			out[source].add(target);
+			out[source].add(weight);
+			out[source].add(middle);
+			in[target].add(source);
+			in[target].add(weight);
+			in[target].add(middle);
+			return true;
+		}
+
+		private int find(final IntList list, final int vertex) {
+			for (int i = 0; i < list.size(); i += 3) {
+				if (list.get(i) == vertex) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * The triples of the list that lead to vertices not yet contracted.
+		 */
+		IntList remaining(final IntList list) {
+			IntList result = new IntList();
+			for (int i = 0; i < list.size(); i += 3) {
+				if (!contracted[list.get(i)]) {
+					result.add(list.get(i));
+					result.add(list.get(i + 1));
+					result.add(list.get(i + 2));
+				}
+			}
+			return result;
+		}
+
+		long priority(final int vertex) {
+			int links = 0;
+			for (int i = 0; i < out[vertex].size(); i += 3) {
+				links += contracted[out[vertex].get(i)] ? 0 : 1;
+			}
+			for (int i = 0; i < in[vertex].size(); i += 3) {
+				links += contracted[in[vertex].get(i)] ? 0 : 1;
+			}
+			return shortcuts(vertex, false) - links + deleted[vertex];
+		}
+
+		void contract(final int vertex) {
+			shortcuts(vertex, true);
+			contracted[vertex] = true;
+			for (int i = 0; i < out[vertex].size(); i += 3) {
+				deleted[out[vertex].get(i)]++;
+			}
+			for (int i = 0; i < in[vertex].size(); i += 3) {
+				deleted[in[vertex].get(i)]++;
+			}
+		}
+
+		/**
+		 * Count, or add, the shortcuts needed to take the vertex out.
+		 */
+		int shortcuts(final int vertex, final boolean add) {
+			int count = 0;
+			IntList ins = in[vertex];
+			IntList outs = out[vertex];
+			for (int i = 0; i < ins.size(); i += 3) {
+				int source = ins.get(i);
+				if (contracted[source]) {
+					continue;
+				}
+				long limit = -1;
+				for (int j = 0; j < outs.size(); j += 3) {
+					int target = outs.get(j);
+					if (!contracted[target] && target != source) {
+						limit = Math.max(limit, (long) ins.get(i + 1) + outs.get(j + 1));
+					}
+				}
+				if (limit < 0) {
+					continue;
+				}
+				witness(source, vertex, limit, add ? CONTRACT_LIMIT : SIMULATE_LIMIT);
+				for (int j = 0; j < outs.size(); j += 3) {
+					int target = outs.get(j);
+					long weight = (long) ins.get(i + 1) + outs.get(j + 1);
+					if (contracted[target] || target == source || state.distance(target) <= weight) {
+						continue;
+					}
+					if (!add) {
+						count++;
+						continue;
+					}
+					if (weight > Integer.MAX_VALUE) {
+						throw new IllegalArgumentException("shortcut weight " + weight + " through "
+						        + graph.vertex(vertex) + " does not fit in an int");
+					}
+					if (link(source, target, (int) weight, vertex)) {
+						count++;
+					}
+				}
+			}
+			return count;
+		}
+
+		/**
+		 * Dijkstra from source around the vertex, up to the limit distance and
+		 * at most settle settled vertices. Priorities use a cheaper search than
+		 * the contraction itself.
+		 */
+		private void witness(final int source, final int vertex, final long limit, final int settle) {
+			state.reset();
+			state.setDistance(source, 0);
+			IndexedHeap queue = state.heap();
+			queue.insert(source, 0);
+			int settled = 0;
+			while (!queue.isEmpty() && queue.peekKey() <= limit && settled++ < settle) {
+				int node = queue.poll();
+				long distance = state.distance(node);
+				IntList links = out[node];
+				for (int i = 0; i < links.size(); i += 3) {
+					int target = links.get(i);
+					if (target == vertex || contracted[target]) {
+						continue;
+					}
+					long key = distance + links.get(i + 1);
+					if (key < state.distance(target)) {
+						state.setDistance(target, key);
+						queue.insertOrDecrease(target, key);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The position of the vertex in the contraction order.
+	 */
+	public int rank(final int vertex) {
+		return rank[vertex];
+	}
+
+	/**
+	 * The number of upward links, original and shortcut.
+	 */
+	public int linkCount() {
+		return fwdTargets.length + bwdSources.length;
+	}
+
+	/**
+	 * The length of the shortest path, TraversalState.INFINITY when the target
+	 * is not reachable.
+	 */
+	public long distance(final int source, final int target) {
+		TraversalState forward = pool.acquire();
+		TraversalState backward = pool.acquire();
+		try {
+			int meet = search(source, target, forward, backward);
+			return meet < 0 ? TraversalState.INFINITY : forward.distance(meet) + backward.distance(meet);
+		} finally {
+			pool.release(forward);
+			pool.release(backward);
+		}
+	}
+
+	/**
+	 * Shortest path unpacked into original links, null when the target is not
+	 * reachable.
+	 */
+	public ShortestPath<T> query(final Vertex<T> source, final Vertex<T> target) {
+		int s = graph.index(source);
+		int t = graph.index(target);
+		return s < 0 || t < 0 ? null : query(s, t);
+	}
+
+	/**
+	 * Shortest path unpacked into original links, null when the target is not
+	 * reachable.
+	 */
+	public ShortestPath<T> query(final int source, final int target) {
+		TraversalState forward = pool.acquire();
+		TraversalState backward = pool.acquire();
+		try {
+			int meet = search(source, target, forward, backward);
+			if (meet < 0) {
+				return null;
+			}
+			IntList up = new IntList();
+			for (int node = meet; node >= 0; node = forward.parent(node)) {
+				up.add(node);
+			}
+			IntList path = new IntList();
+			path.add(source);
+			for (int i = up.size() - 1; i > 0; i--) {
+				int from = up.get(i);
+				int to = up.get(i - 1);
+				unpack(from, to, fwdMiddles[find(fwdOffsets, fwdTargets, from, to)], path);
+			}
+			for (int node = meet; backward.parent(node) >= 0; node = backward.parent(node)) {
+				int to = backward.parent(node);
+				unpack(node, to, bwdMiddles[find(bwdOffsets, bwdSources, to, node)], path);
+			}
+			List<Vertex<T>> vertices = new ArrayList<>(path.size());
+			for (int i = 0; i < path.size(); i++) {
+				vertices.add(graph.vertex(path.get(i)));
+			}
+			return new ShortestPath<>(vertices, forward.distance(meet) + backward.distance(meet));
+		} finally {
+			pool.release(forward);
+			pool.release(backward);
+		}
+	}
+
+	/**
+	 * Upward Dijkstra from both ends, each side runs until its smallest key
+	 * reaches the best meeting found. Returns the meeting vertex, -1 for none.
+	 */
+	private int search(final int source, final int target, final TraversalState forward,
+	        final TraversalState backward) {
+		forward.setDistance(source, 0);
+		backward.setDistance(target, 0);
+		IndexedHeap fqueue = forward.heap();
+		IndexedHeap bqueue = backward.heap();
+		fqueue.insert(source, 0);
+		bqueue.insert(target, 0);
+		long best = source == target ? 0 : TraversalState.INFINITY;
+		int meet = source == target ? source : -1;
+		while (!fqueue.isEmpty() && fqueue.peekKey() < best || !bqueue.isEmpty() && bqueue.peekKey() < best) {
+			boolean isForward = bqueue.isEmpty() || bqueue.peekKey() >= best
+			        || !fqueue.isEmpty() && fqueue.peekKey() < best && fqueue.peekKey() <= bqueue.peekKey();
+			TraversalState state = isForward ? forward : backward;
+			TraversalState other = isForward ? backward : forward;
+			int[] offsets = isForward ? fwdOffsets : bwdOffsets;
+			int[] nodes = isForward ? fwdTargets : bwdSources;
+			int[] weights = isForward ? fwdWeights : bwdWeights;
+			IndexedHeap queue = state.heap();
+			int vertex = queue.poll();
+			long distance = state.distance(vertex);
+			if (other.isTouched(vertex) && distance + other.distance(vertex) < best) {
+				best = distance + other.distance(vertex);
+				meet = vertex;
+			}
+			for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+				int node = nodes[e];
+				long key = distance + weights[e];
+				if (key < state.distance(node)) {
+					state.setDistance(node, key);
+					state.setParent(node, vertex);
+					queue.insertOrDecrease(node, key);
+				}
+			}
+		}
+		return meet;
+	}
+
+	/**
+	 * The position of the upward link stored at vertex to or from node.
+	 */
+	private static int find(final int[] offsets, final int[] nodes, final int vertex, final int node) {
+		for (int e = offsets[vertex]; e < offsets[vertex + 1]; e++) {
+			if (nodes[e] == node) {
+				return e;
+			}
+		}
+		throw new IllegalStateException("missing link " + vertex + " " + node);
+	}
+
+	/**
+	 * Append the original vertices of the link from..to after from. A shortcut
+	 * from..to around middle is from..middle, stored backward at the lower
+	 * middle, followed by middle..to, stored forward at middle.
+	 */
+	private void unpack(final int from, final int to, final int middle, final IntList path) {
+		IntList stack = new IntList();
+		stack.add(from);
+		stack.add(to);
+		stack.add(middle);
+		while (!stack.isEmpty()) {
+			int m = stack.get(stack.size() - 1);
+			int t = stack.get(stack.size() - 2);
+			int f = stack.get(stack.size() - 3);
+			stack.truncate(stack.size() - 3);
+			if (m < 0) {
+				path.add(t);
+				continue;
+			}
+			// second half first, the stack runs it last.
+			stack.add(m);
+			stack.add(t);
+			stack.add(fwdMiddles[find(fwdOffsets, fwdTargets, m, t)]);
+			stack.add(f);
+			stack.add(m);
+			stack.add(bwdMiddles[find(bwdOffsets, bwdSources, m, f)]);
+		}
+	}
+
+	/**
+	 * Write the order and the upward links to a file.
+	 */
+	public void write(final Path path) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(rank.length);
+			write(out, rank);
+			write(out, fwdOffsets);
+			write(out, fwdTargets);
+			write(out, fwdWeights);
+			write(out, fwdMiddles);
+			write(out, bwdOffsets);
+			write(out, bwdSources);
+			write(out, bwdWeights);
+			write(out, bwdMiddles);
+		}
+	}
+
+	private static void write(final DataOutputStream out, final int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	/**
+	 * Read a hierarchy written for the same graph.
+	 */
+	public static <T> ContractionHierarchy<T> load(final CompactGraph<T> graph, final Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a contraction hierarchy file: " + path);
+			}
+			if (in.readInt() != graph.vertexCount()) {
+				throw new IOException("Contraction hierarchy of another graph: " + path);
+			}
+			ContractionHierarchy<T> ch = new ContractionHierarchy<>(graph);
+			ch.rank = read(in);
+			ch.fwdOffsets = read(in);
+			ch.fwdTargets = read(in);
+			ch.fwdWeights = read(in);
+			ch.fwdMiddles = read(in);
+			ch.bwdOffsets = read(in);
+			ch.bwdSources = read(in);
+			ch.bwdWeights = read(in);
+			ch.bwdMiddles = read(in);
+			return ch;
+		}
+	}
+
+	private static int[] read(final DataInputStream in) throws IOException {
+		int[] values = new int[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) throws Exception {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		ContractionHierarchy<String> ch = new ContractionHierarchy<>(csr).compute();
+		Path path = Files.createTempFile("graph", ".ch");
+		ch.write(path);
+		ContractionHierarchy<String> loaded = ContractionHierarchy.load(csr, path);
+		Files.delete(path);
+
+		System.out.println(loaded.query(s, x));
+		System.out.println(loaded.query(x, t));
+		System.out.println(loaded.query(z, y));
+	}
+
+}
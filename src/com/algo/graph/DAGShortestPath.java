@@ -0,0 +1,157 @@
+package com.algo.graph;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Single source shortest and longest paths in a DAG, negative weights
+ * allowed.
+ *
+ * The topological order is computed once, by one Depth First Search over a
+ * Compressed Sparse Row snapshot of the graph, and kept until the graph
+ * version changes. A query relaxes the vertices from the position of its
+ * source onward, as no vertex before it is reachable. Longest paths, the
+ * critical paths of a schedule, relax with negated weights on the same order.
+ */
+public class DAGShortestPath<T> {
+
+	private final ALGraph<T> graph;
+	private CSRGraph<T> snapshot;
+	private long snapshotVersion;
+	private int[] order;
+	private int[] position;
+
+	public DAGShortestPath(final ALGraph<T> graph) {
+		this.graph = graph;
+		this.snapshotVersion = -1;
+	}
+
+	/**
+	 * Shortest paths from the source.
+	 */
+	public ShortestPathTree<T> shortest(final Vertex<T> source) {
+		return compute(source, 1);
+	}
+
+	/**
+	 * Longest paths from the source, the tree distances are path lengths.
+	 */
+	public ShortestPathTree<T> longest(final Vertex<T> source) {
+		return compute(source, -1);
+	}
+
+	private ShortestPathTree<T> compute(final Vertex<T> source, final int sign) {
+		CSRGraph<T> csr;
+		int[] sorted;
+		int[] where;
+		synchronized (this) {
+			csr = snapshot();
+			sorted = order;
+			where = position;
+		}
+		int index = csr.index(source);
+		if (index < 0) {
+			throw new IllegalArgumentException("vertex not in graph: " + source);
+		}
+		int size = csr.vertexCount();
+		long[] distance = new long[size];
+		int[] parent = new int[size];
+		for (int v = 0; v < size; v++) {
+			distance[v] = TraversalState.INFINITY;
+			parent[v] = -1;
+		}
+		distance[index] = 0;
+		for (int i = where[index]; i < size; i++) {
+			int vertex = sorted[i];
+			if (distance[vertex] == TraversalState.INFINITY) {
+				continue;
+			}
+			for (long e = csr.begin(vertex), end = csr.end(vertex); e < end; e++) {
+				int node = csr.target(e);
+				long key = distance[vertex] + sign * (long) csr.weight(e);
+				if (key < distance[node]) {
+					distance[node] = key;
+					parent[node] = vertex;
+				}
+			}
+		}
+		if (sign < 0) {
+			for (int v = 0; v < size; v++) {
+				if (distance[v] != TraversalState.INFINITY) {
+					distance[v] = -distance[v];
+				}
+			}
+		}
+		return new ShortestPathTree<>(csr, index, distance, parent);
+	}
+
+	/**
+	 * The snapshot of the current graph version with its topological order.
+	 */
+	private CSRGraph<T> snapshot() {
+		if (snapshotVersion != graph.getVersion()) {
+			CSRGraph<T> csr = new CSRGraph<>(graph);
+			CSRDFS dfs = new CSRDFS(csr);
+			TraversalState state = dfs.compute();
+			int[] sorted = state.finished();
+			dfs.release(state);
+			int[] where = new int[sorted.length];
+			for (int i = 0; i < sorted.length; i++) {
+				where[sorted[i]] = i;
+			}
+			for (int v = 0; v < csr.vertexCount(); v++) {
+				for (long e = csr.begin(v), end = csr.end(v); e < end; e++) {
+					if (where[csr.target(e)] <= where[v]) {
+						throw new IllegalStateException("Graph has a cycle through " + csr.vertex(v));
+					}
+				}
+			}
+			snapshot = csr;
+			order = sorted;
+			position = where;
+			snapshotVersion = graph.getVersion();
+		}
+		return snapshot;
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> r = new Vertex<>("r");
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		Set<Vertex<String>> vertices = new HashSet<>();
+		vertices.add(r);
+		vertices.add(s);
+		vertices.add(t);
+		vertices.add(x);
+		vertices.add(z);
+		vertices.add(y);
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(r, s, 5).addEdge(r, t, 3).addEdge(s, t, 2).addEdge(s, x, 6).addEdge(t, x, 7).addEdge(t, y, 4)
+		        .addEdge(t, z, 2).addEdge(x, y, -1).addEdge(x, z, 1).addEdge(y, z, -2);
+
+		DAGShortestPath<String> dag = new DAGShortestPath<>(graph);
+		ShortestPathTree<String> shortest = dag.shortest(s);
+		ShortestPathTree<String> longest = dag.longest(s);
+		for (Vertex<String> vertex : vertices) {
+			System.out.println("---" + vertex.toString() + "---");
+			System.out.println(shortest.path(vertex));
+			System.out.println(longest.path(vertex));
+		}
+
+		graph.addEdge(z, r, 1);
+		try {
+			dag.shortest(s);
+		} catch (IllegalStateException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+
+}
@@ -1,9 +1,12 @@
 package com.algo.graph;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 
 import com.algo.graph.Vertex.COLOR;
@@ -42,18 +45,44 @@ public class DFS<T> {
 		return topologicalSort;
 	}
 
+	/**
+	 * Visit the tree under vertex with an explicit stack, so deep graphs do not
+	 * overflow the thread stack. Each stack entry keeps an iterator over the
+	 * adjacency list of its vertex, which resumes where the walk descended.
+	 */
 	private void computeInternal(final Vertex<T> vertex) {
+		List<Vertex<T>> stack = new ArrayList<>();
+		List<Iterator<Vertex<T>>> cursor = new ArrayList<>();
 		vertex.setColor(COLOR.GRAY);
 		vertex.setFirst(time++);
-		for (Vertex<T> node : graph.getList(vertex)) {
-			if (node.getColor().equals(COLOR.WHITE)) {
-				node.setParent(vertex);
-				computeInternal(node);
+		stack.add(vertex);
+		cursor.add(graph.getList(vertex).iterator());
+		while (!stack.isEmpty()) {
+			int top = stack.size() - 1;
+			Vertex<T> current = stack.get(top);
+			Iterator<Vertex<T>> iterator = cursor.get(top);
+			Vertex<T> next = null;
+			while (iterator.hasNext()) {
+				Vertex<T> node = iterator.next();
+				if (node.getColor().equals(COLOR.WHITE)) {
+					next = node;
+					break;
+				}
+			}
+			if (next == null) {
+				current.setColor(COLOR.BLACK);
+				current.setLast(time++);
+				topologicalSort.addFirst(current);
+				stack.remove(top);
+				cursor.remove(top);
+				continue;
 			}
+			next.setParent(current);
+			next.setColor(COLOR.GRAY);
+			next.setFirst(time++);
+			stack.add(next);
+			cursor.add(graph.getList(next).iterator());
 		}
-		vertex.setColor(COLOR.BLACK);
-		vertex.setLast(time++);
-		topologicalSort.addFirst(vertex);
 	}
 
 	/**
@@ -63,14 +92,12 @@ public class DFS<T> {
 		printPathInternal(vertex, " ");
 	}
 
-	private void printPathInternal(final Vertex<T> vertex, String s) {
-		if (vertex != null) {
+	private void printPathInternal(Vertex<T> vertex, String s) {
+		for (; vertex != null; vertex = vertex.getParent()) {
 			s = "(" + vertex.getValue().toString() + "[" + vertex.getFirst() + "]" + s + vertex.getValue().toString()
 			        + "[" + vertex.getLast() + "]" + ")";
-			printPathInternal(vertex.getParent(), s);
-		} else {
-			System.out.println(s);
 		}
+		System.out.println(s);
 	}
 
 	/**
@@ -0,0 +1,377 @@
+package com.algo.graph;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Single source shortest path with non negative weight edges on a fork/join
+ * pool, Meyer and Sanders' delta stepping.
+ *
+ * Vertices wait in buckets of distance width delta. All vertices of the lowest
+ * bucket are relaxed in parallel, with an atomic minimum on the distance, and
+ * the bucket is taken again until relaxations stop refilling it. A small delta
+ * approaches Dijkstra's order, a large one Bellman-Ford's parallelism. Links
+ * are relaxed together rather than split into light and heavy ones, so the
+ * vertices of a bucket are scanned once per refill.
+ *
+ * Buckets are numbered from the current one. Each worker collects the
+ * vertices it relaxes in its own array of buckets, and the arrays are merged
+ * into the pending buckets once the phase is over, so workers never share a
+ * bucket while relaxing. Only the buckets a single link can reach are kept
+ * in the array, at most MAX_SLOTS; vertices beyond wait in an overflow list
+ * that is spread over the buckets again once the current bucket reaches its
+ * lowest one. Distances and parents of a search go to a traversal state.
+ */
+public class DeltaStepping<T> {
+
+	private static final int MAX_SLOTS = 1 << 12;
+
+	private final CompactGraph<T> graph;
+	private final ForkJoinPool pool;
+	private final long delta;
+	private final int slots;
+	private final TraversalStatePool states;
+
+	/**
+	 * Bucket width of the average link weight, at least 1.
+	 */
+	public DeltaStepping(final CompactGraph<T> graph) {
+		this(graph, averageWeight(graph), ForkJoinPool.commonPool());
+	}
+
+	public DeltaStepping(final CompactGraph<T> graph, final long delta, final ForkJoinPool pool) {
+		if (delta < 1) {
+			throw new IllegalArgumentException("delta must be positive: " + delta);
+		}
+		this.graph = graph;
+		this.delta = delta;
+		this.pool = pool;
+		this.slots = (int) Math.min(MAX_SLOTS, maxWeight(graph) / delta + 2);
+		this.states = new TraversalStatePool(graph.vertexCount());
+	}
+
+	private static long averageWeight(final CompactGraph<?> graph) {
+		long sum = 0;
+		for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+			for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+				sum += graph.weight(e);
+			}
+		}
+		long count = graph.edgeCount();
+		return count == 0 ? 1 : Math.max(1, sum / count);
+	}
+
+	private static long maxWeight(final CompactGraph<?> graph) {
+		long max = 0;
+		for (int vertex = 0; vertex < graph.vertexCount(); vertex++) {
+			for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+				max = Math.max(max, graph.weight(e));
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Single source shortest path in a pooled state, release it when done.
+	 */
+	public TraversalState compute(final Vertex<T> source) {
+		return compute(graph.index(source));
+	}
+
+	/**
+	 * Single source shortest path in a pooled state, release it when done.
+	 */
+	public TraversalState compute(final int source) {
+		TraversalState state = states.acquire();
+		compute(source, state);
+		return state;
+	}
+
+	/**
+	 * Single source shortest path.
+	 */
+	public void compute(final int source, final TraversalState state) {
+		final int size = graph.vertexCount();
+		final AtomicLongArray distance = new AtomicLongArray(size);
+		final int[] parent = new int[size];
+		final AtomicIntegerArray lock = new AtomicIntegerArray(size);
+		for (int i = 0; i < size; i++) {
+			distance.set(i, TraversalState.INFINITY);
+			parent[i] = -1;
+		}
+		distance.set(source, 0);
+
+		final Buckets buckets = new Buckets(slots);
+		final Queue<Bins> collected = new ConcurrentLinkedQueue<>();
+		int[] frontier = { source };
+		long bucket = 0;
+		while (true) {
+			final int[] vertices = frontier;
+			final long current = bucket;
+			ParallelRange.run(pool, 0, vertices.length, (from, to) -> {
+				Bins bins = new Bins();
+				for (int i = from; i < to; i++) {
+					int vertex = vertices[i];
+					long key = distance.get(vertex);
+					// settled in an earlier bucket, or waiting in a later one.
+					if (key / delta != current) {
+						continue;
+					}
+					for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+						int weight = graph.weight(e);
+						if (weight < 0) {
+							throw new IllegalArgumentException("negative weight edge from " + graph.vertex(vertex));
+						}
+						int node = graph.target(e);
+						long value = key + weight;
+						if (relax(distance, node, value)) {
+							setParent(distance, parent, lock, node, vertex, value);
+							bins.add(node, value / delta - current, slots);
+						}
+					}
+				}
+				collected.add(bins);
+			});
+			for (Bins bins = collected.poll(); bins != null; bins = collected.poll()) {
+				buckets.merge(bins, current);
+			}
+			bucket = buckets.next(distance, delta);
+			if (bucket < 0) {
+				break;
+			}
+			frontier = buckets.take(bucket);
+		}
+
+		state.reset();
+		for (int i = 0; i < size; i++) {
+			long value = distance.get(i);
+			if (value != TraversalState.INFINITY) {
+				state.setDistance(i, value);
+				state.setParent(i, parent[i]);
+			}
+		}
+	}
+
+	/**
+	 * The vertices one worker relaxed in a phase, by bucket offset from the
+	 * current bucket, those past the slots in the overflow.
+	 */
+	private static final class Bins {
+
+		private IntList[] near = new IntList[2];
+		private final IntList far = new IntList();
+
+		void add(final int vertex, final long offset, final int slots) {
+			if (offset >= slots) {
+				far.add(vertex);
+				return;
+			}
+			int slot = (int) offset;
+			if (slot >= near.length) {
+				near = Arrays.copyOf(near, Math.min(slots, Math.max(slot + 1, near.length * 2)));
+			}
+			if (near[slot] == null) {
+				near[slot] = new IntList();
+			}
+			near[slot].add(vertex);
+		}
+	}
+
+	/**
+	 * Pending buckets in a ring of fixed size starting at the current bucket,
+	 * and an overflow for vertices in buckets past the ring.
+	 */
+	private static final class Buckets {
+
+		private final IntList[] ring;
+		private final IntList overflow;
+		private long base;
+		private int head;
+		private int count;
+
+		Buckets(final int slots) {
+			this.ring = new IntList[slots];
+			this.overflow = new IntList();
+		}
+
+		/**
+		 * Add the vertices of a worker's buckets, numbered from the given
+		 * bucket, to the same buckets here.
+		 */
+		void merge(final Bins bins, final long current) {
+			for (int offset = 0; offset < bins.near.length; offset++) {
+				if (bins.near[offset] != null) {
+					add(current + offset - base, bins.near[offset]);
+				}
+			}
+			overflow.addAll(bins.far);
+		}
+
+		private void add(final long offset, final IntList vertices) {
+			if (vertices.isEmpty()) {
+				return;
+			}
+			int slot = (int) ((head + offset) % ring.length);
+			if (ring[slot] == null) {
+				ring[slot] = new IntList();
+			}
+			if (ring[slot].isEmpty()) {
+				count++;
+			}
+			ring[slot].addAll(vertices);
+		}
+
+		/**
+		 * The first bucket holding vertices, -1 when all are empty. The
+		 * overflow is spread over the ring first if it may hold that bucket.
+		 */
+		long next(final AtomicLongArray distance, final long delta) {
+			int offset = first();
+			if (!overflow.isEmpty()) {
+				// vertices in buckets before the current one were settled there.
+				long lowest = Long.MAX_VALUE;
+				for (int i = 0; i < overflow.size(); i++) {
+					long bucket = distance.get(overflow.get(i)) / delta;
+					if (bucket >= base) {
+						lowest = Math.min(lowest, bucket);
+					}
+				}
+				if (lowest == Long.MAX_VALUE) {
+					overflow.clear();
+				} else if (offset < 0 || lowest <= base + offset) {
+					if (offset < 0) {
+						// the ring is empty, move it on to the lowest bucket.
+						base = lowest;
+					}
+					spread(distance, delta);
+					offset = first();
+				}
+			}
+			return offset < 0 ? -1 : base + offset;
+		}
+
+		/**
+		 * Put the overflow vertices whose bucket is in the ring there, drop
+		 * those already taken in an earlier bucket.
+		 */
+		private void spread(final AtomicLongArray distance, final long delta) {
+			IntList single = new IntList();
+			int kept = 0;
+			for (int i = 0; i < overflow.size(); i++) {
+				int vertex = overflow.get(i);
+				long offset = distance.get(vertex) / delta - base;
+				if (offset < 0) {
+					continue;
+				}
+				if (offset < ring.length) {
+					single.clear();
+					single.add(vertex);
+					add(offset, single);
+				} else {
+					overflow.set(kept++, vertex);
+				}
+			}
+			overflow.truncate(kept);
+		}
+
+		private int first() {
+			if (count == 0) {
+				return -1;
+			}
+			int offset = 0;
+			while (ring[(head + offset) % ring.length] == null || ring[(head + offset) % ring.length].isEmpty()) {
+				offset++;
+			}
+			return offset;
+		}
+
+		/**
+		 * Empty the bucket, which becomes the current bucket.
+		 */
+		int[] take(final long bucket) {
+			head = (int) ((head + bucket - base) % ring.length);
+			base = bucket;
+			int[] vertices = ring[head].toArray();
+			ring[head].clear();
+			count--;
+			return vertices;
+		}
+	}
+
+	/**
+	 * Lower the distance to value, false when it is not shorter.
+	 */
+	private static boolean relax(final AtomicLongArray distance, final int vertex, final long value) {
+		long current = distance.get(vertex);
+		while (value < current) {
+			if (distance.compareAndSet(vertex, current, value)) {
+				return true;
+			}
+			current = distance.get(vertex);
+		}
+		return false;
+	}
+
+	/**
+	 * Record the parent unless another relaxation has lowered the distance
+	 * since, the lock keeps the check and the write together.
+	 */
+	private static void setParent(final AtomicLongArray distance, final int[] parent, final AtomicIntegerArray lock,
+	        final int vertex, final int node, final long value) {
+		while (!lock.compareAndSet(vertex, 0, 1)) {
+			Thread.onSpinWait();
+		}
+		if (distance.get(vertex) == value) {
+			parent[vertex] = node;
+		}
+		lock.set(vertex, 0);
+	}
+
+	/**
+	 * Give back a state returned by {@link #compute(int)}.
+	 */
+	public void release(final TraversalState state) {
+		states.release(state);
+	}
+
+	/**
+	 * Print path from source.
+	 */
+	public String printPath(final TraversalState state, final int vertex) {
+		StringBuilder str = new StringBuilder();
+		for (int node = vertex; node >= 0; node = state.parent(node)) {
+			str.append("[").append(graph.vertex(node).getValue()).append("]").append("-->");
+		}
+		return str.toString();
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		DeltaStepping<String> ds = new DeltaStepping<>(csr, 3, ForkJoinPool.commonPool());
+		TraversalState state = ds.compute(csr.index(s));
+
+		for (int i = 0; i < csr.vertexCount(); i++) {
+			System.out.println("---" + csr.vertex(i).toString() + "---");
+			System.out.println(ds.printPath(state, i) + " " + state.distance(i));
+		}
+		ds.release(state);
+	}
+
+}
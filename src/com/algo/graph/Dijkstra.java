@@ -1,9 +1,10 @@
 package com.algo.graph;
 
-import java.util.Collection;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.PriorityQueue;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -11,8 +12,6 @@ import java.util.Set;
  */
 public class Dijkstra<T> {
 
-	private static final int SIZE = 10;
-
 	private final ALGraph<T> graph;
 
 	public Dijkstra(final ALGraph<T> graph) {
@@ -25,35 +24,35 @@ public class Dijkstra<T> {
 	public void compute(final Vertex<T> source) {
 		source.setKey(0);
 		source.setParent(null);
-		PriorityQueue<Vertex<T>> queue = priorityQueue(graph.vertices());
+		List<Vertex<T>> vertices = new ArrayList<>(graph.vertices());
+		Map<Vertex<T>, Integer> indexMap = new HashMap<>();
+		IndexedHeap queue = new IndexedHeap(vertices.size());
+		for (int i = 0; i < vertices.size(); i++) {
+			indexMap.put(vertices.get(i), i);
+			queue.insert(i, vertices.get(i).getKey());
+		}
 
 		while (!queue.isEmpty()) {
-			Vertex<T> vertex = queue.poll();
-			for (Vertex<T> node : graph.getList(vertex)) {
-				relax(vertex, node, graph.edgeWeight(vertex, node));
+			Vertex<T> vertex = vertices.get(queue.poll());
+			for (Map.Entry<Vertex<T>, Integer> entry : graph.getEdges(vertex).entrySet()) {
+				Vertex<T> node = entry.getKey();
+				if (relax(vertex, node, entry.getValue())) {
+					int index = indexMap.get(node);
+					if (queue.contains(index)) {
+						queue.decreaseKey(index, node.getKey());
+					}
+				}
 			}
-			queue = priorityQueue(queue);
 		}
 	}
 
-	private void relax(final Vertex<T> vertex1, final Vertex<T> vertex2, final int weight) {
+	private boolean relax(final Vertex<T> vertex1, final Vertex<T> vertex2, final int weight) {
 		if (vertex2.getKey() > vertex1.getKey() + weight) {
 			vertex2.setKey(vertex1.getKey() + weight);
 			vertex2.setParent(vertex1);
+			return true;
 		}
-	}
-
-	private PriorityQueue<Vertex<T>> priorityQueue(final Collection<Vertex<T>> col) {
-		PriorityQueue<Vertex<T>> queue = new PriorityQueue<>(SIZE, new Comparator<Vertex<T>>() {
-			@Override
-			public int compare(final Vertex<T> vertex1, final Vertex<T> vertex2) {
-				return vertex1.getKey() - vertex2.getKey();
-			}
-		});
-		for (Vertex<T> vertex : col) {
-			queue.add(vertex);
-		}
-		return queue;
+		return false;
 	}
 
 	/**
@@ -0,0 +1,82 @@
+package com.algo.graph;
+
+/**
+ * Disjoint set forest over the indices 0..n-1 with union by rank and path
+ * compression.
+ */
+public class DisjointSet {
+
+	private final int[] parent;
+	private final byte[] rank;
+	private int count;
+
+	public DisjointSet(final int size) {
+		this.parent = new int[size];
+		this.rank = new byte[size];
+		this.count = size;
+		for (int i = 0; i < size; i++) {
+			parent[i] = i;
+		}
+	}
+
+	/**
+	 * The representative of the set containing the element.
+	 */
+	public int find(final int element) {
+		int root = element;
+		while (parent[root] != root) {
+			root = parent[root];
+		}
+		int node = element;
+		while (parent[node] != root) {
+			int next = parent[node];
+			parent[node] = root;
+			node = next;
+		}
+		return root;
+	}
+
+	/**
+	 * Merge the sets of both elements, false when they are already one set.
+	 */
+	public boolean union(final int element1, final int element2) {
+		int root1 = find(element1);
+		int root2 = find(element2);
+		if (root1 == root2) {
+			return false;
+		}
+		if (rank[root1] < rank[root2]) {
+			parent[root1] = root2;
+		} else if (rank[root1] > rank[root2]) {
+			parent[root2] = root1;
+		} else {
+			parent[root2] = root1;
+			rank[root1]++;
+		}
+		count--;
+		return true;
+	}
+
+	/**
+	 * The number of sets.
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		DisjointSet set = new DisjointSet(8);
+		set.union(0, 1);
+		set.union(2, 3);
+		set.union(1, 3);
+		set.union(5, 6);
+		System.out.println(set.count() + " sets");
+		for (int i = 0; i < 8; i++) {
+			System.out.println(i + "->" + set.find(i));
+		}
+	}
+
+}
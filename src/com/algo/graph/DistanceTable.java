@@ -0,0 +1,150 @@
+package com.algo.graph;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Many to many shortest distances with positive weight edges.
+ *
+ * One Dijkstra per source runs on the pool, each in a pooled traversal state
+ * so workers reuse their arrays from search to search. A search stops as soon
+ * as every target is settled.
+ */
+public class DistanceTable<T> {
+
+	private final CompactGraph<T> graph;
+	private final ForkJoinPool pool;
+	private final TraversalStatePool states;
+
+	public DistanceTable(final CompactGraph<T> graph) {
+		this(graph, ForkJoinPool.commonPool());
+	}
+
+	public DistanceTable(final CompactGraph<T> graph, final ForkJoinPool pool) {
+		this.graph = graph;
+		this.pool = pool;
+		this.states = new TraversalStatePool(graph.vertexCount());
+	}
+
+	/**
+	 * Distances as a flat row per source, [s * targets.size() + t],
+	 * TraversalState.INFINITY when not reachable.
+	 */
+	public long[] distanceTable(final List<Vertex<T>> sources, final List<Vertex<T>> targets) {
+		return distanceTable(indices(sources), indices(targets));
+	}
+
+	private int[] indices(final List<Vertex<T>> vertices) {
+		int[] result = new int[vertices.size()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = graph.index(vertices.get(i));
+			if (result[i] < 0) {
+				throw new IllegalArgumentException("vertex not in graph: " + vertices.get(i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Distances as a flat row per source, [s * targets.length + t],
+	 * TraversalState.INFINITY when not reachable.
+	 */
+	public long[] distanceTable(final int[] sources, final int[] targets) {
+		final int columns = targets.length;
+		final long[] table = new long[sources.length * columns];
+		final boolean[] isTarget = new boolean[graph.vertexCount()];
+		int distinct = 0;
+		for (int target : targets) {
+			if (!isTarget[target]) {
+				isTarget[target] = true;
+				distinct++;
+			}
+		}
+		final int count = distinct;
+		ParallelRange.run(pool, 0, sources.length, 1, (from, to) -> {
+			TraversalState state = states.acquire();
+			try {
+				for (int s = from; s < to; s++) {
+					search(sources[s], isTarget, count, state);
+					for (int t = 0; t < columns; t++) {
+						table[s * columns + t] = state.distance(targets[t]);
+					}
+				}
+			} finally {
+				states.release(state);
+			}
+		});
+		return table;
+	}
+
+	/**
+	 * Dijkstra from the source until the given number of targets are settled.
+	 */
+	private void search(final int source, final boolean[] isTarget, final int count, final TraversalState state) {
+		state.reset();
+		state.setDistance(source, 0);
+		IndexedHeap queue = state.heap();
+		queue.insert(source, 0);
+		int remaining = count;
+		while (!queue.isEmpty() && remaining > 0) {
+			int vertex = queue.poll();
+			state.setColor(vertex, TraversalState.BLACK);
+			if (isTarget[vertex]) {
+				remaining--;
+			}
+			long distance = state.distance(vertex);
+			for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+				int node = graph.target(e);
+				long key = distance + graph.weight(e);
+				if (key < state.distance(node)) {
+					state.setDistance(node, key);
+					queue.insertOrDecrease(node, key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Display the table.
+	 */
+	public void display(final int[] sources, final int[] targets, final long[] table) {
+		System.out.print("    ");
+		for (int target : targets) {
+			System.out.print(String.format("%-4s", graph.vertex(target).toString()));
+		}
+		System.out.println("");
+		for (int s = 0; s < sources.length; s++) {
+			System.out.print(graph.vertex(sources[s]).toString() + "   ");
+			for (int t = 0; t < targets.length; t++) {
+				long value = table[s * targets.length + t];
+				System.out.print(String.format("%-4s", value == TraversalState.INFINITY ? "-" : value));
+			}
+			System.out.println("");
+		}
+		System.out.println("");
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		DistanceTable<String> table = new DistanceTable<>(csr);
+		int[] sources = { csr.index(s), csr.index(z) };
+		int[] targets = { csr.index(x), csr.index(y), csr.index(t) };
+		table.display(sources, targets, table.distanceTable(sources, targets));
+		System.out.println(Arrays.toString(table.distanceTable(Arrays.asList(s, z), Arrays.asList(x, y, t))));
+	}
+
+}
@@ -0,0 +1,278 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Topological order of a directed graph kept up to date as edges are added,
+ * after Pearce and Kelly.
+ *
+ * An edge x -> y with x already before y leaves the order as it is. Otherwise
+ * only the affected region between y and x is searched: the vertices reachable
+ * from y and the vertices reaching x, each within that region. If y reaches x
+ * the edge closes a cycle and is refused. If not, the two sets are given the
+ * positions they held between them, those reaching x first, each set keeping
+ * its relative order.
+ *
+ * Edges must be added through this class. The graph version is recorded after
+ * each insertion and any other change to the graph makes later calls throw
+ * IllegalStateException.
+ */
+public class DynamicTopologicalOrder<T> {
+
+	private final ALGraph<T> graph;
+	private final List<Vertex<T>> vertices;
+	private final Map<Vertex<T>, Integer> indexMap;
+	private final List<IntList> out;
+	private final List<IntList> in;
+	// ord: vertex index -> position, at: position -> vertex index.
+	private final IntList ord;
+	private final IntList at;
+	private final IntList mark;
+	private final IntList stack;
+	private final IntList forward;
+	private final IntList backward;
+	private int epoch;
+	private long version;
+
+	public DynamicTopologicalOrder(final ALGraph<T> graph) {
+		if (!graph.isDirected()) {
+			throw new IllegalArgumentException("Graph is not directed");
+		}
+		this.graph = graph;
+		this.vertices = new ArrayList<>();
+		this.indexMap = new HashMap<>();
+		this.out = new ArrayList<>();
+		this.in = new ArrayList<>();
+		this.ord = new IntList();
+		this.at = new IntList();
+		this.mark = new IntList();
+		this.stack = new IntList();
+		this.forward = new IntList();
+		this.backward = new IntList();
+		for (Vertex<T> vertex : graph.vertices()) {
+			index(vertex);
+		}
+		for (Vertex<T> vertex : graph.vertices()) {
+			for (Vertex<T> node : graph.getList(vertex)) {
+				if (!insert(index(vertex), index(node))) {
+					throw new IllegalArgumentException("Graph has a cycle through " + vertex);
+				}
+			}
+		}
+		this.version = graph.getVersion();
+	}
+
+	/**
+	 * Add an edge to the graph, false and the graph unchanged if it would
+	 * close a cycle.
+	 */
+	public boolean addEdge(final Vertex<T> vertex1, final Vertex<T> vertex2, final int weight) {
+		checkVersion();
+		int index1 = index(vertex1);
+		int index2 = index(vertex2);
+		if (!graph.getEdges(vertex1).containsKey(vertex2) && !insert(index1, index2)) {
+			return false;
+		}
+		graph.addEdge(vertex1, vertex2, weight);
+		version = graph.getVersion();
+		return true;
+	}
+
+	/**
+	 * Position of the vertex in the order, -1 if it is not in the graph.
+	 */
+	public int order(final Vertex<T> vertex) {
+		checkVersion();
+		Integer index = indexMap.get(vertex);
+		return index == null ? -1 : ord.get(index);
+	}
+
+	/**
+	 * The vertex at the position in the order.
+	 */
+	public Vertex<T> vertex(final int position) {
+		checkVersion();
+		return vertices.get(at.get(position));
+	}
+
+	public int size() {
+		return vertices.size();
+	}
+
+	/**
+	 * The vertices in topological order.
+	 */
+	public List<Vertex<T>> order() {
+		checkVersion();
+		List<Vertex<T>> list = new ArrayList<>(vertices.size());
+		for (int i = 0; i < vertices.size(); i++) {
+			list.add(vertex(i));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * The graph must not have changed but through addEdge.
+	 */
+	private void checkVersion() {
+		if (version != graph.getVersion()) {
+			throw new IllegalStateException("Graph changed outside the order");
+		}
+	}
+
+	/**
+	 * Index of the vertex, a new vertex is put last in the order.
+	 */
+	private int index(final Vertex<T> vertex) {
+		Integer index = indexMap.get(vertex);
+		if (index == null) {
+			index = vertices.size();
+			vertices.add(vertex);
+			indexMap.put(vertex, index);
+			out.add(new IntList());
+			in.add(new IntList());
+			ord.add(index);
+			at.add(index);
+			mark.add(0);
+		}
+		return index;
+	}
+
+	/**
+	 * Add the link x -> y, reordering the affected region, false if y reaches
+	 * x.
+	 */
+	private boolean insert(final int x, final int y) {
+		if (x == y) {
+			return false;
+		}
+		int lower = ord.get(y);
+		int upper = ord.get(x);
+		if (lower < upper) {
+			epoch++;
+			if (!search(y, out, lower, upper, x, forward)) {
+				return false;
+			}
+			search(x, in, lower, upper, -1, backward);
+			reorder();
+		}
+		out.get(x).add(y);
+		in.get(y).add(x);
+		return true;
+	}
+
+	/**
+	 * Collect the vertices reached from the root along the links whose ends
+	 * lie within the positions, false as soon as the stop vertex is reached.
+	 */
+	private boolean search(final int root, final List<IntList> links, final int lower, final int upper,
+	        final int stop, final IntList reached) {
+		reached.clear();
+		stack.clear();
+		stack.add(root);
+		mark.set(root, epoch);
+		while (!stack.isEmpty()) {
+			int vertex = stack.get(stack.size() - 1);
+			stack.truncate(stack.size() - 1);
+			reached.add(vertex);
+			IntList list = links.get(vertex);
+			for (int i = 0; i < list.size(); i++) {
+				int node = list.get(i);
+				if (node == stop) {
+					return false;
+				}
+				int position = ord.get(node);
+				if (mark.get(node) != epoch && position >= lower && position <= upper) {
+					mark.set(node, epoch);
+					stack.add(node);
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Give the vertices reaching x, then those reached from y, the positions
+	 * both sets held, in order.
+	 */
+	private void reorder() {
+		int[] back = sortByOrder(backward);
+		int[] front = sortByOrder(forward);
+		int[] positions = new int[back.length + front.length];
+		for (int i = 0; i < back.length; i++) {
+			positions[i] = ord.get(back[i]);
+		}
+		for (int i = 0; i < front.length; i++) {
+			positions[back.length + i] = ord.get(front[i]);
+		}
+		Arrays.sort(positions);
+		for (int i = 0; i < back.length; i++) {
+			place(back[i], positions[i]);
+		}
+		for (int i = 0; i < front.length; i++) {
+			place(front[i], positions[back.length + i]);
+		}
+	}
+
+	private int[] sortByOrder(final IntList list) {
+		long[] keys = new long[list.size()];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = ((long) ord.get(list.get(i)) << 32) | list.get(i);
+		}
+		Arrays.sort(keys);
+		int[] result = new int[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			result[i] = (int) keys[i];
+		}
+		return result;
+	}
+
+	private void place(final int vertex, final int position) {
+		ord.set(vertex, position);
+		at.set(position, vertex);
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> undershorts = new Vertex<>("undershorts");
+		Vertex<String> pants = new Vertex<>("pants");
+		Vertex<String> belt = new Vertex<>("belt");
+		Vertex<String> shirt = new Vertex<>("shirt");
+		Vertex<String> tie = new Vertex<>("tie");
+		Vertex<String> jacket = new Vertex<>("jacket");
+		Vertex<String> socks = new Vertex<>("socks");
+		Vertex<String> shoes = new Vertex<>("shoes");
+		Vertex<String> watch = new Vertex<>("watch");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(watch, socks, 1);
+		DynamicTopologicalOrder<String> order = new DynamicTopologicalOrder<>(graph);
+		order.addEdge(undershorts, shoes, 1);
+		order.addEdge(socks, shoes, 1);
+		order.addEdge(pants, shoes, 1);
+		order.addEdge(undershorts, pants, 1);
+		order.addEdge(pants, belt, 1);
+		order.addEdge(shirt, belt, 1);
+		order.addEdge(shirt, tie, 1);
+		order.addEdge(tie, jacket, 1);
+		order.addEdge(belt, jacket, 1);
+		System.out.println(order.order());
+		System.out.println(order.addEdge(jacket, shirt, 1));
+		System.out.println(order.order(shirt) + " " + order.vertex(0));
+
+		graph.addEdge(jacket, shirt, 1);
+		try {
+			order.order();
+		} catch (IllegalStateException e) {
+			System.out.println(e.getMessage());
+		}
+	}
+
+}
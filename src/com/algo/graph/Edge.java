@@ -35,7 +35,7 @@ public class Edge<T> implements Comparable<Edge<T>> {
 
 	@Override
 	public int compareTo(final Edge<T> other) {
-		return this.weight - other.weight;
+		return Integer.compare(this.weight, other.weight);
 	}
 
 	@Override
@@ -1,16 +1,25 @@
 package com.algo.graph;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * All pairs shortest path.
  */
 public class FloydWarshall<T> {
 
 	private static final int MAX = 50;
+	private static final int TILE = 64;
 	private final AMGraph<T> graph;
+	private final ForkJoinPool pool;
 	private int[][] parent;
 
 	public FloydWarshall(final AMGraph<T> graph) {
+		this(graph, ForkJoinPool.commonPool());
+	}
+
+	public FloydWarshall(final AMGraph<T> graph, final ForkJoinPool pool) {
 		this.graph = graph;
+		this.pool = pool;
 	}
 
 	/**
@@ -44,6 +53,62 @@ public class FloydWarshall<T> {
 		return initial;
 	}
 
+	/**
+	 * All pairs shortest path updating one matrix in place, tile by tile.
+	 *
+	 * For each diagonal tile the tile itself is closed first, then the tiles
+	 * in its row and column, then all remaining tiles. The tiles of the last
+	 * two phases are independent and run on the pool. The distances are those
+	 * of {@link #compute()}; where shortest paths tie, the predecessor matrix
+	 * may name another, equally short, path.
+	 */
+	public int[][] blockedCompute() {
+		final int size = graph.getSize();
+		final int[][] distance = initialize();
+		final int[][] rparent = initializeParent();
+		final int tiles = (size + TILE - 1) / TILE;
+		for (int kt = 0; kt < tiles; kt++) {
+			final int k = kt;
+			updateTile(distance, rparent, size, k, k, k);
+			ParallelRange.run(pool, 0, tiles, 1, (from, to) -> {
+				for (int t = from; t < to; t++) {
+					if (t != k) {
+						updateTile(distance, rparent, size, k, t, k);
+						updateTile(distance, rparent, size, t, k, k);
+					}
+				}
+			});
+			ParallelRange.run(pool, 0, tiles * tiles, 1, (from, to) -> {
+				for (int t = from; t < to; t++) {
+					int it = t / tiles;
+					int jt = t % tiles;
+					if (it != k && jt != k) {
+						updateTile(distance, rparent, size, it, jt, k);
+					}
+				}
+			});
+		}
+		parent = rparent;
+		return distance;
+	}
+
+	/**
+	 * Relax the tile (it, jt) through the vertices of tile kt.
+	 */
+	private void updateTile(final int[][] distance, final int[][] rparent, final int size, final int it,
+	        final int jt, final int kt) {
+		int iend = Math.min(size, (it + 1) * TILE);
+		int jstart = jt * TILE;
+		int length = Math.min(size, jstart + TILE) - jstart;
+		int kend = Math.min(size, (kt + 1) * TILE);
+		for (int k = kt * TILE; k < kend; k++) {
+			for (int i = it * TILE; i < iend; i++) {
+				MatrixKernel.minPlus(distance[i], rparent[i], jstart, distance[k], rparent[k], jstart, length,
+				        distance[i][k], MAX);
+			}
+		}
+	}
+
 	/**
 	 * The predecessor matrix.
 	 */
@@ -138,6 +203,10 @@ public class FloydWarshall<T> {
 		fw.display(fw.compute());
 		System.out.println("----");
 		fw.display(fw.parentMatrix());
+		System.out.println("----");
+		fw.display(fw.blockedCompute());
+		System.out.println("----");
+		fw.display(fw.parentMatrix());
 	}
 
 }
@@ -0,0 +1,179 @@
+package com.algo.graph;
+
+/**
+ * Indexed d-ary min heap of vertex indices keyed by long priorities.
+ *
+ * The position of every vertex in the heap is tracked, so a key can be lowered
+ * in O(log n) instead of rebuilding the queue.
+ */
+public class IndexedHeap {
+
+	private static final int ARITY = 4;
+
+	private final int[] heap;
+	private final long[] keys;
+	private final int[] position;
+	private int size;
+
+	public IndexedHeap(final int capacity) {
+		this.heap = new int[capacity];
+		this.keys = new long[capacity];
+		this.position = new int[capacity];
+		for (int i = 0; i < capacity; i++) {
+			position[i] = -1;
+		}
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Whether the vertex is in the heap.
+	 */
+	public boolean contains(final int vertex) {
+		return position[vertex] >= 0;
+	}
+
+	/**
+	 * The key of a vertex in the heap.
+	 */
+	public long key(final int vertex) {
+		return keys[vertex];
+	}
+
+	/**
+	 * Add a vertex that is not in the heap.
+	 */
+	public void insert(final int vertex, final long key) {
+		keys[vertex] = key;
+		heap[size] = vertex;
+		position[vertex] = size;
+		siftUp(size++);
+	}
+
+	/**
+	 * Lower the key of a vertex in the heap.
+	 */
+	public void decreaseKey(final int vertex, final long key) {
+		keys[vertex] = key;
+		siftUp(position[vertex]);
+	}
+
+	/**
+	 * Add the vertex or lower its key, whichever applies.
+	 */
+	public void insertOrDecrease(final int vertex, final long key) {
+		if (position[vertex] < 0) {
+			insert(vertex, key);
+		} else if (key < keys[vertex]) {
+			decreaseKey(vertex, key);
+		}
+	}
+
+	/**
+	 * The vertex with the smallest key.
+	 */
+	public int peek() {
+		return heap[0];
+	}
+
+	/**
+	 * The smallest key.
+	 */
+	public long peekKey() {
+		return keys[heap[0]];
+	}
+
+	/**
+	 * Remove and return the vertex with the smallest key.
+	 */
+	public int poll() {
+		int vertex = heap[0];
+		position[vertex] = -1;
+		size--;
+		if (size > 0) {
+			heap[0] = heap[size];
+			position[heap[0]] = 0;
+			siftDown(0);
+		}
+		return vertex;
+	}
+
+	/**
+	 * Remove every vertex, O(size) so a heap can be reused between queries.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			position[heap[i]] = -1;
+		}
+		size = 0;
+	}
+
+	private void siftUp(int index) {
+		int vertex = heap[index];
+		long key = keys[vertex];
+		while (index > 0) {
+			int parent = (index - 1) / ARITY;
+			int node = heap[parent];
+			if (keys[node] <= key) {
+				break;
+			}
+			heap[index] = node;
+			position[node] = index;
+			index = parent;
+		}
+		heap[index] = vertex;
+		position[vertex] = index;
+	}
+
+	private void siftDown(int index) {
+		int vertex = heap[index];
+		long key = keys[vertex];
+		while (true) {
+			int child = index * ARITY + 1;
+			if (child >= size) {
+				break;
+			}
+			int last = Math.min(child + ARITY, size);
+			int min = child;
+			for (int i = child + 1; i < last; i++) {
+				if (keys[heap[i]] < keys[heap[min]]) {
+					min = i;
+				}
+			}
+			int node = heap[min];
+			if (keys[node] >= key) {
+				break;
+			}
+			heap[index] = node;
+			position[node] = index;
+			index = min;
+		}
+		heap[index] = vertex;
+		position[vertex] = index;
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		IndexedHeap heap = new IndexedHeap(10);
+		long[] keys = { 7, 3, 9, 1, 8, 2, 6, 5, 4, 0 };
+		for (int i = 0; i < keys.length; i++) {
+			heap.insert(i, keys[i]);
+		}
+		heap.decreaseKey(2, -1);
+		heap.decreaseKey(4, 1);
+		while (!heap.isEmpty()) {
+			long key = heap.peekKey();
+			System.out.print(heap.poll() + "[" + key + "] ");
+		}
+		System.out.println("");
+	}
+
+}
@@ -0,0 +1,65 @@
+package com.algo.graph;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints.
+ */
+final class IntList {
+
+	private static final int SIZE = 16;
+
+	private int[] values;
+	private int size;
+
+	IntList() {
+		this.values = new int[SIZE];
+	}
+
+	void add(final int value) {
+		if (size == values.length) {
+			values = Arrays.copyOf(values, size * 2);
+		}
+		values[size++] = value;
+	}
+
+	void addAll(final IntList other) {
+		if (size + other.size > values.length) {
+			values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+		}
+		System.arraycopy(other.values, 0, values, size, other.size);
+		size += other.size;
+	}
+
+	int get(final int index) {
+		return values[index];
+	}
+
+	void set(final int index, final int value) {
+		values[index] = value;
+	}
+
+	int size() {
+		return size;
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Drop the values from size on.
+	 */
+	void truncate(final int size) {
+		this.size = size;
+	}
+
+	int[] toArray() {
+		return Arrays.copyOf(values, size);
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * All pairs shortest path with negative weight edges on sparse graphs.
+ *
+ * One Bellman Ford run from a virtual source, linked to every vertex with
+ * weight 0, gives each vertex a potential h. Weights w(u,v) + h(u) - h(v) are
+ * never negative and keep shortest paths shortest, so each row is then a
+ * Dijkstra on the reweighted graph in a pooled traversal state. Rows are
+ * computed when asked for and can be streamed, the whole matrix need never be
+ * held at once.
+ */
+public class Johnson<T> {
+
+	private final CompactGraph<T> graph;
+	private int[] potential;
+	private CSRDijkstra dijkstra;
+
+	public Johnson(final CompactGraph<T> graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Compute the potentials, false if there is a negative weight cycle.
+	 */
+	public boolean compute() {
+		int size = graph.vertexCount();
+		List<Vertex<Integer>> vertices = new ArrayList<>(size);
+		for (int v = 0; v < size; v++) {
+			vertices.add(new Vertex<>(v));
+		}
+		Vertex<Integer> source = new Vertex<>(size);
+		BellmanFord<Integer> bf = new BellmanFord<>();
+		for (int v = 0; v < size; v++) {
+			bf.addEdge(source, vertices.get(v), 0);
+			for (long e = graph.begin(v), end = graph.end(v); e < end; e++) {
+				bf.addEdge(vertices.get(v), vertices.get(graph.target(e)), graph.weight(e));
+			}
+		}
+		if (!bf.queueCompute(source)) {
+			potential = null;
+			dijkstra = null;
+			return false;
+		}
+		potential = new int[size];
+		for (int v = 0; v < size; v++) {
+			potential[v] = vertices.get(v).getKey();
+		}
+
+		CSRGraph.Builder<T> builder = new CSRGraph.Builder<>(true);
+		for (int v = 0; v < size; v++) {
+			builder.addVertex(graph.vertex(v));
+		}
+		for (int v = 0; v < size; v++) {
+			for (long e = graph.begin(v), end = graph.end(v); e < end; e++) {
+				int node = graph.target(e);
+				builder.addEdge(graph.vertex(v), graph.vertex(node), graph.weight(e) + potential[v] - potential[node]);
+			}
+		}
+		dijkstra = new CSRDijkstra(builder.build());
+		return true;
+	}
+
+	/**
+	 * Distances from the vertex, indexed like the graph,
+	 * TraversalState.INFINITY when not reachable.
+	 */
+	public long[] row(final Vertex<T> vertex) {
+		int index = graph.index(vertex);
+		if (index < 0) {
+			throw new IllegalArgumentException("vertex not in graph: " + vertex);
+		}
+		return row(index);
+	}
+
+	/**
+	 * Distances from the vertex at the index.
+	 */
+	public long[] row(final int source) {
+		if (dijkstra == null) {
+			throw new IllegalStateException("No potentials, compute() has not succeeded");
+		}
+		int size = graph.vertexCount();
+		long[] row = new long[size];
+		TraversalState state = dijkstra.compute(source);
+		try {
+			for (int v = 0; v < size; v++) {
+				long distance = state.distance(v);
+				row[v] = distance == TraversalState.INFINITY ? distance : distance - potential[source] + potential[v];
+			}
+		} finally {
+			dijkstra.release(state);
+		}
+		return row;
+	}
+
+	/**
+	 * Every row in vertex order, computed in parallel as the stream is
+	 * consumed.
+	 */
+	public Stream<long[]> rows() {
+		if (dijkstra == null) {
+			throw new IllegalStateException("No potentials, compute() has not succeeded");
+		}
+		return IntStream.range(0, graph.vertexCount()).parallel().mapToObj(this::row);
+	}
+
+	/**
+	 * Display one row.
+	 */
+	public void display(final Vertex<T> vertex, final long[] row) {
+		System.out.print(vertex.toString() + "   ");
+		for (long distance : row) {
+			System.out.print(String.format("%-4s", distance == TraversalState.INFINITY ? "-" : distance));
+		}
+		System.out.println("");
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<Integer> vertex0 = new Vertex<>(0);
+		Vertex<Integer> vertex1 = new Vertex<>(1);
+		Vertex<Integer> vertex2 = new Vertex<>(2);
+		Vertex<Integer> vertex3 = new Vertex<>(3);
+		Vertex<Integer> vertex4 = new Vertex<>(4);
+
+		CSRGraph<Integer> graph = new CSRGraph.Builder<Integer>(true).addVertex(vertex0).addVertex(vertex1)
+		        .addVertex(vertex2).addVertex(vertex3).addVertex(vertex4).addEdge(vertex0, vertex1, 3)
+		        .addEdge(vertex0, vertex2, 8).addEdge(vertex0, vertex4, -4).addEdge(vertex1, vertex4, 7)
+		        .addEdge(vertex1, vertex3, 1).addEdge(vertex2, vertex1, 4).addEdge(vertex3, vertex2, -5)
+		        .addEdge(vertex3, vertex0, 2).addEdge(vertex4, vertex3, 6).build();
+
+		Johnson<Integer> johnson = new Johnson<>(graph);
+		if (johnson.compute()) {
+			int[] index = { 0 };
+			johnson.rows().forEachOrdered(row -> johnson.display(graph.vertex(index[0]++), row));
+			System.out.println("");
+			System.out.println(Arrays.toString(johnson.row(vertex3)));
+		} else {
+			System.out.println("Has negative weight cycle");
+		}
+	}
+
+}
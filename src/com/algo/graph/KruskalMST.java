@@ -1,5 +1,7 @@
 package com.algo.graph;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -13,36 +15,67 @@ import java.util.Set;
  */
 public class KruskalMST<T> {
 
-	private final Map<Vertex<T>, Set<Vertex<T>>> map;
-	private final Set<Edge<T>> edges;
-	private final Set<Edge<T>> mst;
+	private static final int SIZE = 16;
+
+	private final List<Vertex<T>> vertices;
+	private final Map<Vertex<T>, Integer> indexMap;
+	private int[] vertices1;
+	private int[] vertices2;
+	private int[] weights;
+	private int count;
 
 	public KruskalMST() {
-		this.map = new HashMap<>();
-		this.edges = new HashSet<>();
-		this.mst = new HashSet<>();
+		this.vertices = new ArrayList<>();
+		this.indexMap = new HashMap<>();
+		this.vertices1 = new int[SIZE];
+		this.vertices2 = new int[SIZE];
+		this.weights = new int[SIZE];
 	}
 
 	public KruskalMST<T> addEdge(final Vertex<T> vertex1, final Vertex<T> vertex2, final int weight) {
-		addVertex(vertex1);
-		addVertex(vertex2);
-		Edge<T> edge = new Edge<>(vertex1, vertex2, false, weight);
-		edges.add(edge);
+		int index1 = addVertex(vertex1);
+		int index2 = addVertex(vertex2);
+		if (count == weights.length) {
+			vertices1 = Arrays.copyOf(vertices1, count * 2);
+			vertices2 = Arrays.copyOf(vertices2, count * 2);
+			weights = Arrays.copyOf(weights, count * 2);
+		}
+		vertices1[count] = index1;
+		vertices2[count] = index2;
+		weights[count] = weight;
+		count++;
 		return this;
 	}
 
-	private void addVertex(final Vertex<T> vertex) {
-		if (!map.containsKey(vertex)) {
-			Set<Vertex<T>> set = new HashSet<>();
-			set.add(vertex);
-			map.put(vertex, set);
+	private int addVertex(final Vertex<T> vertex) {
+		Integer index = indexMap.get(vertex);
+		if (index == null) {
+			index = vertices.size();
+			vertices.add(vertex);
+			indexMap.put(vertex, index);
 		}
+		return index;
+	}
+
+	private Edge<T> edge(final int index) {
+		return new Edge<>(vertices.get(vertices1[index]), vertices.get(vertices2[index]), false, weights[index]);
 	}
 
 	/**
 	 * Minimum Spanning Tree.
 	 */
 	public Set<Edge<T>> compute() {
+		Map<Vertex<T>, Set<Vertex<T>>> map = new HashMap<>();
+		for (Vertex<T> vertex : vertices) {
+			Set<Vertex<T>> set = new HashSet<>();
+			set.add(vertex);
+			map.put(vertex, set);
+		}
+		Set<Edge<T>> edges = new HashSet<>();
+		for (int i = 0; i < count; i++) {
+			edges.add(edge(i));
+		}
+		Set<Edge<T>> mst = new HashSet<>();
 		List<Edge<T>> list = new LinkedList<>(edges);
 		Collections.sort(list);
 		for (Edge<T> edge : list) {
@@ -59,6 +92,29 @@ public class KruskalMST<T> {
 		return mst;
 	}
 
+	/**
+	 * Minimum Spanning Tree using a disjoint set forest, the edge weights are
+	 * sorted as primitives.
+	 */
+	public Set<Edge<T>> fastCompute() {
+		// weight in the high half, position in the low half.
+		long[] order = new long[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = ((long) weights[i] << 32) | i;
+		}
+		Arrays.parallelSort(order);
+
+		DisjointSet set = new DisjointSet(vertices.size());
+		Set<Edge<T>> result = new HashSet<>();
+		for (int i = 0; i < order.length && set.count() > 1; i++) {
+			int index = (int) order[i];
+			if (set.union(vertices1[index], vertices2[index])) {
+				result.add(edge(index));
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * main.
 	 */
@@ -80,6 +136,7 @@ public class KruskalMST<T> {
 
 		Set<Edge<String>> mst = kruskal.compute();
 		System.out.println(mst.toString());
+		System.out.println(kruskal.fastCompute().toString());
 	}
 
 }
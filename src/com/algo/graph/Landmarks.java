@@ -0,0 +1,308 @@
+package com.algo.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Landmark lower bounds for {@link AStar}, the ALT heuristic.
+ *
+ * Distances from and to a few landmark vertices are computed once. By the
+ * triangle inequality d(v,t) is at least d(L,t) - d(L,v) and d(v,L) - d(t,L)
+ * for every landmark L, and the largest of these bounds is the estimate. The
+ * tables are flat long arrays, landmark by landmark, and can be written to a
+ * file and read back for the same graph.
+ */
+public class Landmarks implements AStar.Heuristic {
+
+	private static final int MAGIC = 0x414c5431;
+	private static final int VERSION = 1;
+	private static final int MAX_TABLE = Integer.MAX_VALUE - 8;
+
+	private final int size;
+	private final int[] landmarks;
+	// from[l * size + v] = d(landmark l, v), to[l * size + v] = d(v, landmark l).
+	private final long[] from;
+	private final long[] to;
+
+	private Landmarks(final int size, final int[] landmarks, final long[] from, final long[] to) {
+		this.size = size;
+		this.landmarks = landmarks;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * Landmarks chosen one after another as the vertex farthest from those
+	 * already chosen, starting from the vertex farthest from vertex 0.
+	 */
+	public static Landmarks farthest(final CompactGraph<?> graph, final int count) {
+		int size = graph.vertexCount();
+		int[] landmarks = new int[Math.min(count, size)];
+		boolean[] chosen = new boolean[size];
+		long[] nearest = new long[size];
+		CSRDijkstra dijkstra = new CSRDijkstra(graph);
+		TraversalState state = new TraversalState(size);
+		if (size > 0) {
+			dijkstra.compute(0, state);
+		}
+		for (int v = 0; v < size; v++) {
+			nearest[v] = state.distance(v);
+		}
+		for (int l = 0; l < landmarks.length; l++) {
+			// unreachable vertices come first, they lie in another part of the graph.
+			int far = -1;
+			for (int v = 0; v < size; v++) {
+				if (!chosen[v] && (far < 0 || nearest[v] > nearest[far])) {
+					far = v;
+				}
+			}
+			landmarks[l] = far;
+			chosen[far] = true;
+			if (l == 0) {
+				Arrays.fill(nearest, TraversalState.INFINITY);
+			}
+			dijkstra.compute(far, state);
+			for (int v = 0; v < size; v++) {
+				nearest[v] = Math.min(nearest[v], state.distance(v));
+			}
+		}
+		return compute(graph, landmarks);
+	}
+
+	/**
+	 * Landmarks chosen by Goldberg and Harrelson's avoid rule: grow a shortest
+	 * path tree from a vertex, weigh each vertex by how badly the current
+	 * landmarks bound its distance, and walk down the heaviest subtrees that
+	 * hold no landmark to a leaf. The tables grow by one landmark per choice.
+	 */
+	public static Landmarks avoid(final CompactGraph<?> graph, final int count) {
+		int size = graph.vertexCount();
+		int[] landmarks = new int[Math.min(count, size)];
+		long[] from = new long[tableLength(landmarks.length, size)];
+		long[] to = new long[from.length];
+		CSRDijkstra dijkstra = new CSRDijkstra(graph);
+		CSRDijkstra backward = new CSRDijkstra(graph.isDirected() ? graph.transpose() : graph);
+		TraversalState state = new TraversalState(size);
+		boolean[] chosen = new boolean[size];
+		long[] weight = new long[size];
+		int[] order = new int[size];
+		Random random = new Random(size);
+		int root = random.nextInt(Math.max(1, size));
+		for (int l = 0; l < landmarks.length; l++) {
+			Landmarks current = new Landmarks(size, Arrays.copyOf(landmarks, l), from, to);
+			dijkstra.compute(root, state);
+			for (int v = 0; v < size; v++) {
+				weight[v] = state.isTouched(v) ? state.distance(v) - current.estimate(root, v) : 0;
+			}
+			// the tree level by level, parents before their children.
+			boolean[] seen = new boolean[size];
+			int reached = 0;
+			order[reached++] = root;
+			seen[root] = true;
+			for (int i = 0; i < reached; i++) {
+				int vertex = order[i];
+				for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+					int node = graph.target(e);
+					if (state.parent(node) == vertex && !seen[node]) {
+						order[reached++] = node;
+						seen[node] = true;
+					}
+				}
+			}
+			// subtree weights, children before their parents.
+			boolean[] blocked = new boolean[size];
+			for (int i = reached - 1; i >= 0; i--) {
+				int v = order[i];
+				if (chosen[v]) {
+					blocked[v] = true;
+				}
+				int parent = state.parent(v);
+				if (parent >= 0) {
+					weight[parent] += blocked[v] ? 0 : weight[v];
+					blocked[parent] |= blocked[v];
+				}
+			}
+			int vertex = root;
+			while (true) {
+				int next = -1;
+				for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+					int node = graph.target(e);
+					if (state.parent(node) == vertex && node != root && !blocked[node]
+					        && (next < 0 || weight[node] > weight[next])) {
+						next = node;
+					}
+				}
+				if (next < 0) {
+					break;
+				}
+				vertex = next;
+			}
+			if (chosen[vertex]) {
+				// every subtree holds a landmark, take any other vertex.
+				vertex = 0;
+				while (chosen[vertex]) {
+					vertex++;
+				}
+			}
+			landmarks[l] = vertex;
+			chosen[vertex] = true;
+			fill(dijkstra, backward, state, vertex, from, to, l * size);
+			root = random.nextInt(size);
+		}
+		return new Landmarks(size, landmarks, from, to);
+	}
+
+	/**
+	 * Distance tables for the given landmarks.
+	 */
+	public static Landmarks compute(final CompactGraph<?> graph, final int[] landmarks) {
+		int size = graph.vertexCount();
+		long[] from = new long[tableLength(landmarks.length, size)];
+		long[] to = new long[from.length];
+		CSRDijkstra forward = new CSRDijkstra(graph);
+		CSRDijkstra backward = new CSRDijkstra(graph.isDirected() ? graph.transpose() : graph);
+		TraversalState state = new TraversalState(size);
+		for (int l = 0; l < landmarks.length; l++) {
+			fill(forward, backward, state, landmarks[l], from, to, l * size);
+		}
+		return new Landmarks(size, landmarks.clone(), from, to);
+	}
+
+	/**
+	 * Fill the rows of one landmark, from position base on.
+	 */
+	private static void fill(final CSRDijkstra forward, final CSRDijkstra backward, final TraversalState state,
+	        final int landmark, final long[] from, final long[] to, final int base) {
+		int size = state.size();
+		forward.compute(landmark, state);
+		for (int v = 0; v < size; v++) {
+			from[base + v] = state.distance(v);
+		}
+		backward.compute(landmark, state);
+		for (int v = 0; v < size; v++) {
+			to[base + v] = state.distance(v);
+		}
+	}
+
+	/**
+	 * Length of a table, count rows of size distances.
+	 */
+	private static int tableLength(final int count, final int size) {
+		long length = (long) count * size;
+		if (length > MAX_TABLE) {
+			throw new IllegalArgumentException(count + " landmarks of " + size + " vertices exceed the largest table");
+		}
+		return (int) length;
+	}
+
+	@Override
+	public long estimate(final int vertex, final int target) {
+		long estimate = 0;
+		for (int l = 0, base = 0; l < landmarks.length; l++, base += size) {
+			long lt = from[base + target];
+			long lv = from[base + vertex];
+			if (lt != TraversalState.INFINITY && lv != TraversalState.INFINITY) {
+				estimate = Math.max(estimate, lt - lv);
+			}
+			long vl = to[base + vertex];
+			long tl = to[base + target];
+			if (vl != TraversalState.INFINITY && tl != TraversalState.INFINITY) {
+				estimate = Math.max(estimate, vl - tl);
+			}
+		}
+		return estimate;
+	}
+
+	/**
+	 * The landmark vertices.
+	 */
+	public int[] landmarks() {
+		return landmarks.clone();
+	}
+
+	/**
+	 * Write the landmarks and their tables to a file.
+	 */
+	public void write(final Path path) throws IOException {
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(size);
+			out.writeInt(landmarks.length);
+			for (int landmark : landmarks) {
+				out.writeInt(landmark);
+			}
+			for (long distance : from) {
+				out.writeLong(distance);
+			}
+			for (long distance : to) {
+				out.writeLong(distance);
+			}
+		}
+	}
+
+	/**
+	 * Read landmark tables written for a graph of the given size.
+	 */
+	public static Landmarks load(final CompactGraph<?> graph, final Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException("Not a landmark file: " + path);
+			}
+			int size = in.readInt();
+			if (size != graph.vertexCount()) {
+				throw new IOException("Landmarks of another graph: " + path);
+			}
+			int count = in.readInt();
+			if (count < 0 || (long) count * size > MAX_TABLE) {
+				throw new IOException("Landmark tables too large: " + path);
+			}
+			int[] landmarks = new int[count];
+			for (int l = 0; l < landmarks.length; l++) {
+				landmarks[l] = in.readInt();
+			}
+			long[] from = new long[count * size];
+			long[] to = new long[from.length];
+			for (int i = 0; i < from.length; i++) {
+				from[i] = in.readLong();
+			}
+			for (int i = 0; i < to.length; i++) {
+				to[i] = in.readLong();
+			}
+			return new Landmarks(size, landmarks, from, to);
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) throws Exception {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		Landmarks landmarks = Landmarks.avoid(csr, 2);
+		Path path = Files.createTempFile("graph", ".alt");
+		landmarks.write(path);
+		Landmarks loaded = Landmarks.load(csr, path);
+		Files.delete(path);
+
+		System.out.println(Arrays.toString(loaded.landmarks()));
+		System.out.println(loaded.estimate(csr.index(s), csr.index(x)));
+	}
+
+}
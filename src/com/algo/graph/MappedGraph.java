@@ -0,0 +1,361 @@
+package com.algo.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Graph Compressed Sparse Row representation stored in a memory mapped file.
+ *
+ * The file holds a header, the out links, the in links and the vertex labels,
+ * all little endian and 8 byte aligned. Opening a file only maps it, the links
+ * are read through the page cache and never copied onto the heap. Vertices are
+ * labelled with the string value of the vertex they were written from, and
+ * looked up by that label, so labels must be unique.
+ */
+public class MappedGraph implements CompactGraph<String> {
+
+	private static final int MAGIC = 0x43535247;
+	private static final int VERSION = 1;
+	private static final int HEADER = 32;
+	private static final int CHUNK_BITS = 30;
+	private static final long CHUNK_MASK = (1L << CHUNK_BITS) - 1;
+	private static final int BUFFER = 1 << 20;
+
+	private final ByteBuffer[] chunks;
+	private final boolean isDirected;
+	private final int vertexCount;
+	private final long edgeCount;
+	private final long offsetsPos;
+	private final long targetsPos;
+	private final long weightsPos;
+	private final long toffsetsPos;
+	private final long ttargetsPos;
+	private final long tweightsPos;
+	private final long labelOffsetsPos;
+	private final long labelsPos;
+	private volatile Map<String, Integer> indexMap;
+
+	private MappedGraph(final ByteBuffer[] chunks, final boolean isDirected, final int vertexCount,
+	        final long edgeCount, final long offsetsPos, final long targetsPos, final long weightsPos,
+	        final long toffsetsPos, final long ttargetsPos, final long tweightsPos, final long labelOffsetsPos,
+	        final long labelsPos) {
+		this.chunks = chunks;
+		this.isDirected = isDirected;
+		this.vertexCount = vertexCount;
+		this.edgeCount = edgeCount;
+		this.offsetsPos = offsetsPos;
+		this.targetsPos = targetsPos;
+		this.weightsPos = weightsPos;
+		this.toffsetsPos = toffsetsPos;
+		this.ttargetsPos = ttargetsPos;
+		this.tweightsPos = tweightsPos;
+		this.labelOffsetsPos = labelOffsetsPos;
+		this.labelsPos = labelsPos;
+	}
+
+	/**
+	 * Map a graph file.
+	 */
+	public static MappedGraph open(final Path path) throws IOException {
+		ByteBuffer[] chunks;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER) {
+				throw new IOException("Not a graph file: " + path);
+			}
+			chunks = new ByteBuffer[(int) ((size + CHUNK_MASK) >>> CHUNK_BITS)];
+			for (int i = 0; i < chunks.length; i++) {
+				long start = (long) i << CHUNK_BITS;
+				long length = Math.min(CHUNK_MASK + 1, size - start);
+				chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length).order(ByteOrder.LITTLE_ENDIAN);
+			}
+		}
+		ByteBuffer header = chunks[0];
+		if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+			throw new IOException("Not a graph file: " + path);
+		}
+		boolean isDirected = header.getInt(8) != 0;
+		int vertexCount = header.getInt(12);
+		long edgeCount = header.getLong(16);
+		long[] layout = layout(vertexCount, edgeCount);
+		return new MappedGraph(chunks, isDirected, vertexCount, edgeCount, layout[0], layout[1], layout[2],
+		        layout[3], layout[4], layout[5], layout[6], layout[7]);
+	}
+
+	/**
+	 * Write an adjacency list graph to a file.
+	 */
+	public static <T> void write(final ALGraph<T> graph, final Path path) throws IOException {
+		write(new CSRGraph<>(graph), path);
+	}
+
+	/**
+	 * Write a graph to a file, its vertices must have distinct labels.
+	 */
+	public static <T> void write(final CompactGraph<T> graph, final Path path) throws IOException {
+		CompactGraph<T> tgraph = graph.transpose();
+		int size = graph.vertexCount();
+		byte[][] labels = new byte[size][];
+		Set<String> seen = new HashSet<>();
+		for (int v = 0; v < size; v++) {
+			String label = graph.vertex(v).getValue().toString();
+			if (!seen.add(label)) {
+				throw new IllegalArgumentException("Duplicate vertex label: " + label);
+			}
+			labels[v] = label.getBytes(StandardCharsets.UTF_8);
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+		        StandardOpenOption.TRUNCATE_EXISTING)) {
+			Output out = new Output(channel);
+			out.putInt(MAGIC);
+			out.putInt(VERSION);
+			out.putInt(graph.isDirected() ? 1 : 0);
+			out.putInt(size);
+			out.putLong(graph.edgeCount());
+			out.putLong(0);
+			writeLinks(out, graph);
+			writeLinks(out, tgraph);
+			long offset = 0;
+			for (int v = 0; v < size; v++) {
+				out.putLong(offset);
+				offset += labels[v].length;
+			}
+			out.putLong(offset);
+			for (int v = 0; v < size; v++) {
+				out.put(labels[v]);
+			}
+			out.flush();
+		}
+	}
+
+	private static void writeLinks(final Output out, final CompactGraph<?> graph) throws IOException {
+		int size = graph.vertexCount();
+		for (int v = 0; v < size; v++) {
+			out.putLong(graph.begin(v));
+		}
+		out.putLong(graph.edgeCount());
+		for (long e = 0; e < graph.edgeCount(); e++) {
+			out.putInt(graph.target(e));
+		}
+		out.align();
+		for (long e = 0; e < graph.edgeCount(); e++) {
+			out.putInt(graph.weight(e));
+		}
+		out.align();
+	}
+
+	/**
+	 * The file positions of the sections.
+	 */
+	private static long[] layout(final int vertexCount, final long edgeCount) {
+		long[] layout = new long[8];
+		long pos = HEADER;
+		for (int i = 0; i < 6; i += 3) {
+			layout[i] = pos;
+			pos += 8L * (vertexCount + 1);
+			layout[i + 1] = pos;
+			pos = align(pos + 4 * edgeCount);
+			layout[i + 2] = pos;
+			pos = align(pos + 4 * edgeCount);
+		}
+		layout[6] = pos;
+		layout[7] = pos + 8L * (vertexCount + 1);
+		return layout;
+	}
+
+	private static long align(final long pos) {
+		return (pos + 7) & ~7L;
+	}
+
+	private int getInt(final long pos) {
+		return chunks[(int) (pos >>> CHUNK_BITS)].getInt((int) (pos & CHUNK_MASK));
+	}
+
+	private long getLong(final long pos) {
+		return chunks[(int) (pos >>> CHUNK_BITS)].getLong((int) (pos & CHUNK_MASK));
+	}
+
+	private byte getByte(final long pos) {
+		return chunks[(int) (pos >>> CHUNK_BITS)].get((int) (pos & CHUNK_MASK));
+	}
+
+	@Override
+	public int vertexCount() {
+		return vertexCount;
+	}
+
+	@Override
+	public long edgeCount() {
+		return edgeCount;
+	}
+
+	@Override
+	public boolean isDirected() {
+		return isDirected;
+	}
+
+	@Override
+	public long begin(final int vertex) {
+		return getLong(offsetsPos + 8L * vertex);
+	}
+
+	@Override
+	public long end(final int vertex) {
+		return getLong(offsetsPos + 8L * (vertex + 1));
+	}
+
+	@Override
+	public int target(final long edge) {
+		return getInt(targetsPos + 4 * edge);
+	}
+
+	@Override
+	public int weight(final long edge) {
+		return getInt(weightsPos + 4 * edge);
+	}
+
+	@Override
+	public Vertex<String> vertex(final int index) {
+		long start = getLong(labelOffsetsPos + 8L * index);
+		long end = getLong(labelOffsetsPos + 8L * (index + 1));
+		byte[] bytes = new byte[(int) (end - start)];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = getByte(labelsPos + start + i);
+		}
+		return new Vertex<>(new String(bytes, StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * The index of the vertex, the first call reads every label onto the heap.
+	 */
+	@Override
+	public int index(final Vertex<String> vertex) {
+		Map<String, Integer> map = indexMap;
+		if (map == null) {
+			map = new HashMap<>();
+			for (int i = 0; i < vertexCount; i++) {
+				if (map.put(vertex(i).getValue(), i) != null) {
+					throw new IllegalStateException("Duplicate vertex label: " + vertex(i).getValue());
+				}
+			}
+			indexMap = map;
+		}
+		Integer index = map.get(vertex.getValue());
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * The transpose graph, a view of the in links stored in the same file.
+	 */
+	@Override
+	public MappedGraph transpose() {
+		return new MappedGraph(chunks, isDirected, vertexCount, edgeCount, toffsetsPos, ttargetsPos, tweightsPos,
+		        offsetsPos, targetsPos, weightsPos, labelOffsetsPos, labelsPos);
+	}
+
+	/**
+	 * Buffered little endian writer.
+	 */
+	private static class Output {
+
+		private final FileChannel channel;
+		private final ByteBuffer buffer;
+		private long pos;
+
+		Output(final FileChannel channel) {
+			this.channel = channel;
+			this.buffer = ByteBuffer.allocateDirect(BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		void putInt(final int value) throws IOException {
+			ensure(4);
+			buffer.putInt(value);
+			pos += 4;
+		}
+
+		void putLong(final long value) throws IOException {
+			ensure(8);
+			buffer.putLong(value);
+			pos += 8;
+		}
+
+		void put(final byte[] bytes) throws IOException {
+			for (byte b : bytes) {
+				ensure(1);
+				buffer.put(b);
+			}
+			pos += bytes.length;
+		}
+
+		void align() throws IOException {
+			while ((pos & 7) != 0) {
+				ensure(1);
+				buffer.put((byte) 0);
+				pos++;
+			}
+		}
+
+		private void ensure(final int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				flush();
+			}
+		}
+
+		void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) throws Exception {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		Path path = Files.createTempFile("graph", ".csr");
+		MappedGraph.write(graph, path);
+		MappedGraph mgraph = MappedGraph.open(path);
+
+		CSRDijkstra dj = new CSRDijkstra(mgraph);
+		TraversalState state = dj.compute(mgraph.index(s));
+		for (int i = 0; i < mgraph.vertexCount(); i++) {
+			System.out.println("---" + mgraph.vertex(i).toString() + "---");
+			System.out.println(dj.printPath(state, i) + " " + state.distance(i));
+		}
+
+		CSRBFS bfs = new CSRBFS(mgraph);
+		bfs.compute(mgraph.index(s), state);
+		for (int i = 0; i < mgraph.vertexCount(); i++) {
+			bfs.printPath(state, i);
+			System.out.println("");
+		}
+		dj.release(state);
+
+		CSRStronglyConnectedComponents scc = new CSRStronglyConnectedComponents(mgraph);
+		scc.display(scc.compute());
+		Files.delete(path);
+	}
+
+}
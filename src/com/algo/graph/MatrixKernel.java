@@ -0,0 +1,134 @@
+package com.algo.graph;
+
+/**
+ * Row updates of the (min,+) and (or,and) matrix products.
+ *
+ * Each call works on one contiguous row with the scalar operand and the
+ * sentinel test hoisted out of the loop. VectorMatrixKernel, in the optional
+ * src-vector source root, does the same on vector lanes; it is loaded by name
+ * when it is on the class path and the jdk.incubator.vector module is in the
+ * boot layer (run with --add-modules jdk.incubator.vector), otherwise the
+ * scalar loops below are used.
+ */
+final class MatrixKernel {
+
+	private static final Lanes LANES = load();
+
+	private MatrixKernel() {
+	}
+
+	/**
+	 * The row updates on vector lanes.
+	 */
+	interface Lanes {
+
+		void minPlus(int[] dst, int dstFrom, int[] src, int srcFrom, int length, int weight, int max);
+
+		void minPlus(int[] dst, int[] dstParent, int dstFrom, int[] src, int[] srcParent, int srcFrom, int length,
+		        int weight, int max);
+
+		void orAnd(int[] dst, int dstFrom, int[] src, int srcFrom, int length);
+
+		void or(long[] dst, long[] src);
+	}
+
+	private static Lanes load() {
+		if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+			return null;
+		}
+		try {
+			return (Lanes) Class.forName("com.algo.graph.VectorMatrixKernel").getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Whether the rows are updated on vector lanes.
+	 */
+	static boolean isVectorized() {
+		return LANES != null;
+	}
+
+	/**
+	 * dst[j] = min(dst[j], weight + src[j]) where a sum with max stays max.
+	 */
+	static void minPlus(final int[] dst, final int dstFrom, final int[] src, final int srcFrom, final int length,
+	        final int weight, final int max) {
+		if (LANES != null) {
+			LANES.minPlus(dst, dstFrom, src, srcFrom, length, weight, max);
+			return;
+		}
+		if (weight == max) {
+			for (int j = 0; j < length; j++) {
+				dst[dstFrom + j] = Math.min(dst[dstFrom + j], max);
+			}
+			return;
+		}
+		for (int j = 0; j < length; j++) {
+			int value = src[srcFrom + j];
+			int sum = value == max ? max : value + weight;
+			dst[dstFrom + j] = Math.min(dst[dstFrom + j], sum);
+		}
+	}
+
+	/**
+	 * Lower dst[j] to weight + src[j] when strictly shorter, where a sum with
+	 * max stays max, and copy the parent of the improving entry.
+	 */
+	static void minPlus(final int[] dst, final int[] dstParent, final int dstFrom, final int[] src,
+	        final int[] srcParent, final int srcFrom, final int length, final int weight, final int max) {
+		if (LANES != null) {
+			LANES.minPlus(dst, dstParent, dstFrom, src, srcParent, srcFrom, length, weight, max);
+			return;
+		}
+		if (weight == max) {
+			for (int j = 0; j < length; j++) {
+				if (max < dst[dstFrom + j]) {
+					dst[dstFrom + j] = max;
+					dstParent[dstFrom + j] = srcParent[srcFrom + j];
+				}
+			}
+			return;
+		}
+		for (int j = 0; j < length; j++) {
+			int value = src[srcFrom + j];
+			int sum = value == max ? max : value + weight;
+			if (sum < dst[dstFrom + j]) {
+				dst[dstFrom + j] = sum;
+				dstParent[dstFrom + j] = srcParent[srcFrom + j];
+			}
+		}
+	}
+
+	/**
+	 * dst[j] = dst[j] | (bit & src[j]) for 0/1 entries.
+	 */
+	static void orAnd(final int[] dst, final int dstFrom, final int[] src, final int srcFrom, final int length,
+	        final int bit) {
+		if (bit == 0) {
+			return;
+		}
+		if (LANES != null) {
+			LANES.orAnd(dst, dstFrom, src, srcFrom, length);
+			return;
+		}
+		for (int j = 0; j < length; j++) {
+			dst[dstFrom + j] |= src[srcFrom + j];
+		}
+	}
+
+	/**
+	 * dst[j] = dst[j] | src[j] over whole bitset rows.
+	 */
+	static void or(final long[] dst, final long[] src) {
+		if (LANES != null) {
+			LANES.or(dst, src);
+			return;
+		}
+		for (int j = 0; j < dst.length; j++) {
+			dst[j] |= src[j];
+		}
+	}
+
+}
@@ -42,37 +42,28 @@ public class MatrixMultiplication<T> {
 		return computeInternal(initial, weight);
 	}
 
+	/**
+	 * Extend every path by one edge, a row at a time. The path through 'l' is
+	 * not used for the entries (i, i) and (i, l).
+	 */
 	private int[][] computeInternal(final int[][] initial, final int[][] weight) {
-		int[][] result = new int[initial.length][initial.length];
-		for (int i = 0; i < initial.length; i++) {
-			for (int j = 0; j < initial.length; j++) {
-				int value = Integer.MAX_VALUE;
-				for (int l = 0; l < initial.length; l++) {
-					if (l == i || l == j) {
-						continue;
-					}
-					int sum = add(initial[i][l], weight[l][j]);
-					if (sum < value) {
-						value = sum;
-					}
+		int size = initial.length;
+		int[][] result = new int[size][];
+		for (int i = 0; i < size; i++) {
+			int[] row = initial[i].clone();
+			for (int l = 0; l < size; l++) {
+				if (l == i) {
+					continue;
 				}
-				result[i][j] = min(initial[i][j], value);
+				int value = row[l];
+				MatrixKernel.minPlus(row, 0, weight[l], 0, size, initial[i][l], MAX);
+				row[l] = value;
 			}
+			result[i] = row;
 		}
 		return result;
 	}
 
-	private int min(final int weight1, final int weight2) {
-		return weight1 < weight2 ? weight1 : weight2;
-	}
-
-	private int add(final int weight1, final int weight2) {
-		if (weight1 == MAX || weight2 == MAX) {
-			return MAX;
-		}
-		return weight1 + weight2;
-	}
-
 	private int[][] initialize() {
 		int[][] matrix = new int[graph.getSize()][graph.getSize()];
 		for (int i = 0; i < matrix.length; i++) {
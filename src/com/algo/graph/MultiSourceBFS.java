@@ -0,0 +1,147 @@
+package com.algo.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Breadth First Search from many sources in one traversal.
+ *
+ * Sources run in batches of 64, one bit of a long per source. Each vertex
+ * keeps the bits of the sources that have seen it and of those that visit it
+ * in the current level, so a link is scanned once per level for the whole
+ * batch instead of once per source. Batches run in parallel on the pool.
+ */
+public class MultiSourceBFS {
+
+	private static final int BATCH = Long.SIZE;
+
+	private final CompactGraph<?> graph;
+	private final ForkJoinPool pool;
+
+	public MultiSourceBFS(final CompactGraph<?> graph) {
+		this(graph, ForkJoinPool.commonPool());
+	}
+
+	public MultiSourceBFS(final CompactGraph<?> graph, final ForkJoinPool pool) {
+		this.graph = graph;
+		this.pool = pool;
+	}
+
+	/**
+	 * Hop distances, [source][vertex] in the order of the sources, -1 when not
+	 * reachable.
+	 */
+	public int[][] compute(final int[] sources) {
+		final int[][] distance = new int[sources.length][];
+		int batches = (sources.length + BATCH - 1) / BATCH;
+		ParallelRange.run(pool, 0, batches, 1, (from, to) -> {
+			for (int b = from; b < to; b++) {
+				int start = b * BATCH;
+				computeBatch(sources, start, Math.min(sources.length, start + BATCH), distance);
+			}
+		});
+		return distance;
+	}
+
+	/**
+	 * Hop distances from every vertex.
+	 */
+	public int[][] compute() {
+		int[] sources = new int[graph.vertexCount()];
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = i;
+		}
+		return compute(sources);
+	}
+
+	/**
+	 * Traverse from sources[from..to-1], at most 64 of them.
+	 */
+	private void computeBatch(final int[] sources, final int from, final int to, final int[][] distance) {
+		int size = graph.vertexCount();
+		long[] seen = new long[size];
+		long[] visit = new long[size];
+		long[] visitNext = new long[size];
+		for (int i = from; i < to; i++) {
+			int[] row = new int[size];
+			Arrays.fill(row, -1);
+			row[sources[i]] = 0;
+			distance[i] = row;
+			long bit = 1L << (i - from);
+			seen[sources[i]] |= bit;
+			visit[sources[i]] |= bit;
+		}
+
+		boolean active = true;
+		for (int level = 1; active; level++) {
+			for (int v = 0; v < size; v++) {
+				long bits = visit[v];
+				if (bits == 0) {
+					continue;
+				}
+				for (long e = graph.begin(v), end = graph.end(v); e < end; e++) {
+					visitNext[graph.target(e)] |= bits;
+				}
+			}
+			active = false;
+			for (int v = 0; v < size; v++) {
+				long bits = visitNext[v] & ~seen[v];
+				visitNext[v] = 0;
+				visit[v] = bits;
+				if (bits == 0) {
+					continue;
+				}
+				active = true;
+				seen[v] |= bits;
+				// one distance per newly reached source.
+				while (bits != 0) {
+					distance[from + Long.numberOfTrailingZeros(bits)][v] = level;
+					bits &= bits - 1;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Display hop distances.
+	 */
+	public void display(final int[] sources, final int[][] result) {
+		System.out.print("    ");
+		for (int k = 0; k < graph.vertexCount(); k++) {
+			System.out.print(String.format("%-3s", graph.vertex(k).toString()));
+		}
+		System.out.println("");
+		for (int i = 0; i < sources.length; i++) {
+			System.out.print(graph.vertex(sources[i]).toString() + "   ");
+			for (int j = 0; j < graph.vertexCount(); j++) {
+				System.out.print(String.format("%-3s", result[i][j]));
+			}
+			System.out.println("");
+		}
+		System.out.println("");
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> r = new Vertex<>("r");
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> u = new Vertex<>("u");
+		Vertex<String> v = new Vertex<>("v");
+		Vertex<String> w = new Vertex<>("w");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(false);
+		graph.addEdge(r, v, 1).addEdge(r, s, 1).addEdge(s, w, 1).addEdge(t, w, 1).addEdge(w, x, 1).addEdge(t, x, 1)
+		        .addEdge(t, u, 1).addEdge(x, y, 1).addEdge(x, u, 1).addEdge(u, y, 1);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		MultiSourceBFS bfs = new MultiSourceBFS(csr);
+		int[] sources = { csr.index(s), csr.index(t), csr.index(y) };
+		bfs.display(sources, bfs.compute(sources));
+	}
+
+}
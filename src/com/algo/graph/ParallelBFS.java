@@ -0,0 +1,212 @@
+package com.algo.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Level synchronous Breadth First Search on a fork/join pool.
+ *
+ * Each level is expanded either top down, from the frontier along out links,
+ * or bottom up, where every unvisited vertex looks for a parent in the
+ * frontier along its in links. Bottom up wins once the frontier holds a large
+ * share of the remaining links, top down again once the frontier is small.
+ * Frontier and visited sets are bitmaps of 64 vertices per word. Distances
+ * and parents go to a traversal state, each vertex written by the one worker
+ * that visits it, so concurrent searches on one instance do not interfere.
+ */
+public class ParallelBFS<T> {
+
+	private static final int ALPHA = 14;
+	private static final int BETA = 24;
+
+	private final CompactGraph<T> graph;
+	private final CompactGraph<T> tgraph;
+	private final ForkJoinPool pool;
+	private final int size;
+	private final int words;
+	private final TraversalStatePool states;
+
+	public ParallelBFS(final CompactGraph<T> graph) {
+		this(graph, ForkJoinPool.commonPool());
+	}
+
+	public ParallelBFS(final CompactGraph<T> graph, final ForkJoinPool pool) {
+		this.graph = graph;
+		this.tgraph = graph.isDirected() ? graph.transpose() : graph;
+		this.pool = pool;
+		this.size = graph.vertexCount();
+		this.words = (size + 63) >>> 6;
+		this.states = new TraversalStatePool(size);
+	}
+
+	/**
+	 * Compute the Breadth First Tree in a pooled state, release it when done.
+	 */
+	public TraversalState compute(final int source) {
+		TraversalState state = states.acquire();
+		compute(source, state);
+		return state;
+	}
+
+	/**
+	 * Compute the Breadth First Tree, distances count links from the source.
+	 */
+	public void compute(final int source, final TraversalState state) {
+		state.reset();
+		final AtomicLongArray visited = new AtomicLongArray(words);
+		final long[] frontier = new long[words];
+		final AtomicLongArray next = new AtomicLongArray(words);
+		final LongAdder nextCount = new LongAdder();
+		final LongAdder nextEdges = new LongAdder();
+
+		state.setDistance(source, 0);
+		set(visited, source);
+		frontier[source >>> 6] |= 1L << source;
+		long frontierCount = 1;
+		long frontierEdges = graph.end(source) - graph.begin(source);
+		long unexplored = graph.edgeCount() - frontierEdges;
+		boolean bottomUp = false;
+
+		for (int level = 1; frontierCount > 0; level++) {
+			if (!bottomUp && frontierEdges > unexplored / ALPHA) {
+				bottomUp = true;
+			} else if (bottomUp && frontierCount < size / BETA) {
+				bottomUp = false;
+			}
+			final int depth = level;
+			nextCount.reset();
+			nextEdges.reset();
+			if (bottomUp) {
+				ParallelRange.run(pool, 0, words, (from, to) -> {
+					long count = 0;
+					long edges = 0;
+					for (int w = from; w < to; w++) {
+						long unseen = ~visited.get(w);
+						while (unseen != 0) {
+							int vertex = (w << 6) + Long.numberOfTrailingZeros(unseen);
+							unseen &= unseen - 1;
+							if (vertex >= size) {
+								break;
+							}
+							for (long e = tgraph.begin(vertex), end = tgraph.end(vertex); e < end; e++) {
+								int node = tgraph.target(e);
+								if ((frontier[node >>> 6] & (1L << node)) != 0) {
+									set(visited, vertex);
+									set(next, vertex);
+									state.setDistance(vertex, depth);
+									state.setParent(vertex, node);
+									count++;
+									edges += graph.end(vertex) - graph.begin(vertex);
+									break;
+								}
+							}
+						}
+					}
+					nextCount.add(count);
+					nextEdges.add(edges);
+				});
+			} else {
+				ParallelRange.run(pool, 0, words, (from, to) -> {
+					long count = 0;
+					long edges = 0;
+					for (int w = from; w < to; w++) {
+						long bits = frontier[w];
+						while (bits != 0) {
+							int vertex = (w << 6) + Long.numberOfTrailingZeros(bits);
+							bits &= bits - 1;
+							for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+								int node = graph.target(e);
+								if (!isSet(visited, node) && set(visited, node)) {
+									set(next, node);
+									state.setDistance(node, depth);
+									state.setParent(node, vertex);
+									count++;
+									edges += graph.end(node) - graph.begin(node);
+								}
+							}
+						}
+					}
+					nextCount.add(count);
+					nextEdges.add(edges);
+				});
+			}
+			for (int w = 0; w < words; w++) {
+				frontier[w] = next.get(w);
+				next.set(w, 0);
+			}
+			frontierCount = nextCount.sum();
+			frontierEdges = nextEdges.sum();
+			unexplored -= frontierEdges;
+		}
+	}
+
+	private static boolean isSet(final AtomicLongArray bitmap, final int index) {
+		return (bitmap.get(index >>> 6) & (1L << index)) != 0;
+	}
+
+	/**
+	 * Set the bit, false when it was already set.
+	 */
+	private static boolean set(final AtomicLongArray bitmap, final int index) {
+		int word = index >>> 6;
+		long bit = 1L << index;
+		long current = bitmap.get(word);
+		while ((current & bit) == 0) {
+			if (bitmap.compareAndSet(word, current, current | bit)) {
+				return true;
+			}
+			current = bitmap.get(word);
+		}
+		return false;
+	}
+
+	/**
+	 * Give back a state returned by {@link #compute(int)}.
+	 */
+	public void release(final TraversalState state) {
+		states.release(state);
+	}
+
+	/**
+	 * Print path from source to vertex.
+	 */
+	public void printPath(final TraversalState state, final int vertex) {
+		if (state.parent(vertex) < 0) {
+			System.out.print(graph.vertex(vertex).toString() + "[" + state.distance(vertex) + "]");
+		} else {
+			printPath(state, state.parent(vertex));
+			System.out.print("-> " + graph.vertex(vertex).toString() + "[" + state.distance(vertex) + "]");
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> r = new Vertex<>("r");
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> u = new Vertex<>("u");
+		Vertex<String> v = new Vertex<>("v");
+		Vertex<String> w = new Vertex<>("w");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(false);
+		graph.addEdge(r, v, 1).addEdge(r, s, 1).addEdge(s, w, 1).addEdge(t, w, 1).addEdge(w, x, 1).addEdge(t, x, 1)
+		        .addEdge(t, u, 1).addEdge(x, y, 1).addEdge(x, u, 1).addEdge(u, y, 1);
+
+		CSRGraph<String> csr = new CSRGraph<>(graph);
+		ParallelBFS<String> bfs = new ParallelBFS<>(csr);
+		TraversalState state = bfs.compute(csr.index(s));
+
+		for (int i = 0; i < csr.vertexCount(); i++) {
+			System.out.println("---" + csr.vertex(i).getValue() + "---");
+			bfs.printPath(state, i);
+			System.out.println("");
+		}
+		bfs.release(state);
+	}
+
+}
@@ -0,0 +1,193 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Single source shortest path with negative weight cycles on a fork/join
+ * pool.
+ *
+ * The edges are flat arrays split between the workers, which relax them
+ * against a shared array holding the key of each vertex in the high and its
+ * parent in the low half of one long, so both change in one compare and set.
+ * A pass that lowers no key ends the computation early. Keys are those of
+ * {@link BellmanFord#compute}; where paths tie, a parent may name another,
+ * equally short, path.
+ */
+public class ParallelBellmanFord<T> {
+
+	private final Set<Edge<T>> edges;
+	private final Set<Vertex<T>> vertices;
+	private final ForkJoinPool pool;
+
+	public ParallelBellmanFord() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	public ParallelBellmanFord(final ForkJoinPool pool) {
+		this.edges = new HashSet<>();
+		this.vertices = new HashSet<>();
+		this.pool = pool;
+	}
+
+	/**
+	 * Add an edge.
+	 */
+	public ParallelBellmanFord<T> addEdge(final Vertex<T> vertex1, final Vertex<T> vertex2, final int weight) {
+		vertices.add(vertex1);
+		vertices.add(vertex2);
+		Edge<T> edge = new Edge<>(vertex1, vertex2, true, weight);
+		edges.add(edge);
+		return this;
+	}
+
+	/**
+	 * Single source shortest path.
+	 */
+	public boolean compute(final Vertex<T> source) {
+		source.setKey(0);
+		source.setParent(null);
+
+		List<Vertex<T>> list = new ArrayList<>(vertices);
+		Map<Vertex<T>, Integer> indexMap = new HashMap<>();
+		final int size = list.size();
+		for (int i = 0; i < size; i++) {
+			indexMap.put(list.get(i), i);
+		}
+		final int count = edges.size();
+		final int[] sources = new int[count];
+		final int[] targets = new int[count];
+		final int[] weights = new int[count];
+		int e = 0;
+		for (Edge<T> edge : edges) {
+			sources[e] = indexMap.get(edge.getVertex1());
+			targets[e] = indexMap.get(edge.getVertex2());
+			weights[e] = edge.getWeight();
+			e++;
+		}
+
+		final AtomicLongArray state = new AtomicLongArray(size);
+		long[] initial = new long[size];
+		for (int i = 0; i < size; i++) {
+			Vertex<T> vertex = list.get(i);
+			Integer parent = vertex.getParent() == null ? null : indexMap.get(vertex.getParent());
+			initial[i] = pack(vertex.getKey(), parent == null ? -1 : parent);
+			state.set(i, initial[i]);
+		}
+
+		for (int pass = 1; pass <= size - 1; pass++) {
+			final boolean[] changed = new boolean[1];
+			ParallelRange.run(pool, 0, count, (from, to) -> {
+				boolean lowered = false;
+				for (int i = from; i < to; i++) {
+					lowered |= relax(state, sources[i], targets[i], weights[i]);
+				}
+				if (lowered) {
+					changed[0] = true;
+				}
+			});
+			if (!changed[0]) {
+				break;
+			}
+		}
+
+		// check for negative weight cycles.
+		final boolean[] cycle = new boolean[1];
+		ParallelRange.run(pool, 0, count, (from, to) -> {
+			for (int i = from; i < to && !cycle[0]; i++) {
+				if (key(state.get(targets[i])) > key(state.get(sources[i])) + weights[i]) {
+					cycle[0] = true;
+				}
+			}
+		});
+
+		for (int i = 0; i < size; i++) {
+			long value = state.get(i);
+			if (value != initial[i]) {
+				Vertex<T> vertex = list.get(i);
+				vertex.setKey(key(value));
+				vertex.setParent(parent(value) < 0 ? null : list.get(parent(value)));
+			}
+		}
+		return !cycle[0];
+	}
+
+	/**
+	 * Lower the key of vertex2 through vertex1, false when it is not shorter.
+	 */
+	private static boolean relax(final AtomicLongArray state, final int vertex1, final int vertex2,
+	        final int weight) {
+		int key = key(state.get(vertex1)) + weight;
+		long current = state.get(vertex2);
+		while (key < key(current)) {
+			if (state.compareAndSet(vertex2, current, pack(key, vertex1))) {
+				return true;
+			}
+			current = state.get(vertex2);
+		}
+		return false;
+	}
+
+	private static long pack(final int key, final int parent) {
+		return ((long) key << 32) | (parent & 0xffffffffL);
+	}
+
+	private static int key(final long value) {
+		return (int) (value >> 32);
+	}
+
+	private static int parent(final long value) {
+		return (int) value;
+	}
+
+	/**
+	 * Print path from source.
+	 */
+	public String printPath(final Vertex<T> vertex) {
+		StringBuilder str = new StringBuilder();
+		for (Vertex<T> node = vertex; node != null; node = node.getParent()) {
+			str.append("[").append(node.getValue()).append("]").append("-->");
+		}
+		return str.toString();
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		Set<Vertex<String>> vertices = new HashSet<>();
+		vertices.add(s);
+		vertices.add(t);
+		vertices.add(x);
+		vertices.add(z);
+		vertices.add(y);
+
+		ParallelBellmanFord<String> bf = new ParallelBellmanFord<>();
+		bf.addEdge(s, t, 6).addEdge(t, x, 5).addEdge(x, t, -2).addEdge(s, y, 7).addEdge(t, y, 8).addEdge(y, z, 9)
+		        .addEdge(z, x, 7).addEdge(z, s, 2).addEdge(y, x, -3).addEdge(t, z, -4);
+
+		boolean result = bf.compute(s);
+
+		if (result) {
+			for (Vertex<String> vertex : vertices) {
+				System.out.println("---" + vertex.toString() + "---");
+				System.out.println(bf.printPath(vertex));
+			}
+		} else {
+			System.out.println("Has negative weight cycle");
+		}
+	}
+
+}
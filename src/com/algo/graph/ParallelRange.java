@@ -0,0 +1,70 @@
+package com.algo.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Run a loop over an index range on a fork/join pool.
+ */
+final class ParallelRange {
+
+	private static final int MIN_GRAIN = 1024;
+
+	/**
+	 * The loop body over a part of the range.
+	 */
+	interface Body {
+		void run(int from, int to);
+	}
+
+	private ParallelRange() {
+	}
+
+	/**
+	 * Split from..to-1 into parts and run the body on each, returns when all are
+	 * done.
+	 */
+	static void run(final ForkJoinPool pool, final int from, final int to, final Body body) {
+		int grain = Math.max(MIN_GRAIN, (to - from) / (pool.getParallelism() * 8));
+		run(pool, from, to, grain, body);
+	}
+
+	/**
+	 * Split from..to-1 into parts of at most grain indices.
+	 */
+	static void run(final ForkJoinPool pool, final int from, final int to, final int grain, final Body body) {
+		if (to - from <= grain) {
+			body.run(from, to);
+		} else {
+			pool.invoke(new Task(from, to, grain, body));
+		}
+	}
+
+	private static class Task extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int from;
+		private final int to;
+		private final int grain;
+		private final Body body;
+
+		Task(final int from, final int to, final int grain, final Body body) {
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+			this.body = body;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= grain) {
+				body.run(from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new Task(from, middle, grain, body), new Task(middle, to, grain, body));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,290 @@
+package com.algo.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Strongly Connected Components on a fork/join pool, forward backward
+ * decomposition with trimming.
+ *
+ * Vertices without links in or without links out are their own component and
+ * are peeled off first, level by level. The rest is split around a pivot:
+ * vertices reachable from the pivot and reaching it form its component, those
+ * only reachable, only reaching, or neither are three independent subsets that
+ * are decomposed the same way as parallel tasks. Each subset carries its own
+ * label so the searches of different tasks never cross.
+ */
+public class ParallelSCC {
+
+	private static final int TRIMMED = -1;
+
+	private final CompactGraph<?> graph;
+	private final CompactGraph<?> tgraph;
+	private final ForkJoinPool pool;
+	private int count;
+
+	public ParallelSCC(final CompactGraph<?> graph) {
+		this(graph, ForkJoinPool.commonPool());
+	}
+
+	public ParallelSCC(final CompactGraph<?> graph, final ForkJoinPool pool) {
+		this.graph = graph;
+		this.tgraph = graph.isDirected() ? graph.transpose() : graph;
+		this.pool = pool;
+	}
+
+	/**
+	 * Strongly Connected Components, the component of each vertex in the
+	 * numbering of {@link #canonicalize(int[])}.
+	 */
+	public int[] compute() {
+		final int size = graph.vertexCount();
+		final AtomicIntegerArray label = new AtomicIntegerArray(size);
+		final int[] component = new int[size];
+		final AtomicInteger components = new AtomicInteger();
+		final AtomicInteger labels = new AtomicInteger(1);
+
+		trim(label, component, components);
+
+		int remaining = 0;
+		int[] vertices = new int[size];
+		for (int vertex = 0; vertex < size; vertex++) {
+			if (label.get(vertex) == 0) {
+				vertices[remaining++] = vertex;
+			}
+		}
+		if (remaining > 0) {
+			pool.invoke(new Task(null, Arrays.copyOf(vertices, remaining), 0, label, component, components, labels));
+		}
+		count = components.get();
+		return canonicalize(component);
+	}
+
+	/**
+	 * Peel off vertices with no links in or no links out from other vertices,
+	 * each one a component of its own.
+	 */
+	private void trim(final AtomicIntegerArray label, final int[] component, final AtomicInteger components) {
+		final int size = graph.vertexCount();
+		final AtomicIntegerArray in = new AtomicIntegerArray(size);
+		final AtomicIntegerArray out = new AtomicIntegerArray(size);
+		final int[] frontier = new int[size];
+		final int[] next = new int[size];
+		final AtomicInteger tail = new AtomicInteger();
+		ParallelRange.run(pool, 0, size, (from, to) -> {
+			for (int vertex = from; vertex < to; vertex++) {
+				out.set(vertex, links(graph, vertex));
+				in.set(vertex, links(tgraph, vertex));
+				if (out.get(vertex) == 0 || in.get(vertex) == 0) {
+					label.set(vertex, TRIMMED);
+					component[vertex] = components.getAndIncrement();
+					frontier[tail.getAndIncrement()] = vertex;
+				}
+			}
+		});
+		int[] current = frontier;
+		int[] following = next;
+		int length = tail.get();
+		while (length > 0) {
+			final int[] level = current;
+			final int[] append = following;
+			tail.set(0);
+			ParallelRange.run(pool, 0, length, (from, to) -> {
+				for (int i = from; i < to; i++) {
+					int vertex = level[i];
+					peel(graph, vertex, in, label, component, components, append, tail);
+					peel(tgraph, vertex, out, label, component, components, append, tail);
+				}
+			});
+			length = tail.get();
+			current = append;
+			following = level;
+		}
+	}
+
+	private static int links(final CompactGraph<?> graph, final int vertex) {
+		int links = 0;
+		for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+			if (graph.target(e) != vertex) {
+				links++;
+			}
+		}
+		return links;
+	}
+
+	/**
+	 * Drop the links of a removed vertex from the counts of its neighbours and
+	 * remove those left without any.
+	 */
+	private static void peel(final CompactGraph<?> graph, final int vertex, final AtomicIntegerArray degree,
+	        final AtomicIntegerArray label, final int[] component, final AtomicInteger components, final int[] next,
+	        final AtomicInteger tail) {
+		for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+			int node = graph.target(e);
+			if (node != vertex && degree.decrementAndGet(node) == 0 && label.compareAndSet(node, 0, TRIMMED)) {
+				component[node] = components.getAndIncrement();
+				next[tail.getAndIncrement()] = node;
+			}
+		}
+	}
+
+	/**
+	 * The number of components found by the last computation.
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * Renumber components in the order of their smallest vertex, so results of
+	 * different algorithms compare equal when they agree on the partition.
+	 */
+	public static int[] canonicalize(final int[] component) {
+		int[] mapping = new int[component.length];
+		Arrays.fill(mapping, -1);
+		int[] result = new int[component.length];
+		int next = 0;
+		for (int vertex = 0; vertex < component.length; vertex++) {
+			if (mapping[component[vertex]] < 0) {
+				mapping[component[vertex]] = next++;
+			}
+			result[vertex] = mapping[component[vertex]];
+		}
+		return result;
+	}
+
+	/**
+	 * Decompose the vertices carrying one label.
+	 */
+	private final class Task extends CountedCompleter<Void> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int[] vertices;
+		private final int label;
+		private final AtomicIntegerArray labels;
+		private final int[] component;
+		private final AtomicInteger components;
+		private final AtomicInteger nextLabel;
+
+		Task(final CountedCompleter<?> parent, final int[] vertices, final int label, final AtomicIntegerArray labels,
+		        final int[] component, final AtomicInteger components, final AtomicInteger nextLabel) {
+			super(parent);
+			this.vertices = vertices;
+			this.label = label;
+			this.labels = labels;
+			this.component = component;
+			this.components = components;
+			this.nextLabel = nextLabel;
+		}
+
+		@Override
+		public void compute() {
+			if (vertices.length == 1) {
+				component[vertices[0]] = components.getAndIncrement();
+				tryComplete();
+				return;
+			}
+			int pivot = vertices[0];
+			int forward = nextLabel.getAndIncrement();
+			int backward = nextLabel.getAndIncrement();
+			int both = nextLabel.getAndIncrement();
+
+			labels.set(pivot, forward);
+			reach(graph, pivot, label, forward, -1, -1);
+			labels.set(pivot, both);
+			reach(tgraph, pivot, label, backward, forward, both);
+
+			// split the rest by the label each vertex ended up with.
+			int id = components.getAndIncrement();
+			int[] fset = new int[vertices.length];
+			int[] bset = new int[vertices.length];
+			int[] rset = new int[vertices.length];
+			int fcount = 0;
+			int bcount = 0;
+			int rcount = 0;
+			for (int vertex : vertices) {
+				int value = labels.get(vertex);
+				if (value == both) {
+					component[vertex] = id;
+				} else if (value == forward) {
+					fset[fcount++] = vertex;
+				} else if (value == backward) {
+					bset[bcount++] = vertex;
+				} else {
+					rset[rcount++] = vertex;
+				}
+			}
+			fork(fset, fcount, forward);
+			fork(bset, bcount, backward);
+			fork(rset, rcount, label);
+			tryComplete();
+		}
+
+		private void fork(final int[] set, final int length, final int value) {
+			if (length > 0) {
+				addToPendingCount(1);
+				new Task(this, Arrays.copyOf(set, length), value, labels, component, components, nextLabel).fork();
+			}
+		}
+
+		/**
+		 * Search from the pivot level by level. Vertices labelled from become to,
+		 * and vertices labelled meet, when not -1, become met.
+		 */
+		private void reach(final CompactGraph<?> side, final int pivot, final int from, final int to, final int meet,
+		        final int met) {
+			final int[] queue = new int[vertices.length];
+			final AtomicInteger tail = new AtomicInteger(1);
+			queue[0] = pivot;
+			int head = 0;
+			while (head < tail.get()) {
+				int end = tail.get();
+				ParallelRange.run(pool, head, end, (start, stop) -> {
+					for (int i = start; i < stop; i++) {
+						int vertex = queue[i];
+						for (long e = side.begin(vertex), last = side.end(vertex); e < last; e++) {
+							int node = side.target(e);
+							if (labels.compareAndSet(node, from, to)
+							        || meet != -1 && labels.compareAndSet(node, meet, met)) {
+								queue[tail.getAndIncrement()] = node;
+							}
+						}
+					}
+				});
+				head = end;
+			}
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> a = new Vertex<>("a");
+		Vertex<String> b = new Vertex<>("b");
+		Vertex<String> c = new Vertex<>("c");
+		Vertex<String> d = new Vertex<>("d");
+		Vertex<String> e = new Vertex<>("e");
+		Vertex<String> f = new Vertex<>("f");
+		Vertex<String> g = new Vertex<>("g");
+		Vertex<String> h = new Vertex<>("h");
+
+		ALGraph<String> dgraph = new ALGraph<>(true);
+		dgraph.addEdge(a, b, 1).addEdge(b, e, 1).addEdge(e, a, 1).addEdge(b, f, 1).addEdge(e, f, 1).addEdge(b, c, 1)
+		        .addEdge(b, f, 1).addEdge(c, g, 1).addEdge(f, g, 1).addEdge(g, f, 1).addEdge(c, d, 1).addEdge(d, c, 1)
+		        .addEdge(g, h, 1).addEdge(d, h, 1).addEdge(h, h, 1);
+
+		CSRGraph<String> csr = new CSRGraph<>(dgraph);
+		ParallelSCC scc = new ParallelSCC(csr);
+		int[] component = scc.compute();
+		for (int vertex = 0; vertex < component.length; vertex++) {
+			System.out.println(csr.vertex(vertex) + " " + component[vertex]);
+		}
+		System.out.println(Arrays.toString(ParallelSCC.canonicalize(new TarjanSCC(csr).compute())));
+	}
+
+}
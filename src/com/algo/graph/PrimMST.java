@@ -1,8 +1,9 @@
 package com.algo.graph;
 
-import java.util.Collection;
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Prim's Minimum Spanning Tree.
@@ -10,7 +11,6 @@ import java.util.PriorityQueue;
 public class PrimMST<T> {
 
 	private final ALGraph<T> graph;
-	private static final int SIZE = 10;
 
 	public PrimMST(final ALGraph<T> graph) {
 		this.graph = graph;
@@ -22,17 +22,24 @@ public class PrimMST<T> {
 	public void compute(final Vertex<T> vertex) {
 		vertex.setKey(0);
 		vertex.setParent(null);
-		PriorityQueue<Vertex<T>> queue = priorityQueue(graph.vertices());
+		List<Vertex<T>> vertices = new ArrayList<>(graph.vertices());
+		Map<Vertex<T>, Integer> indexMap = new HashMap<>();
+		IndexedHeap queue = new IndexedHeap(vertices.size());
+		for (int i = 0; i < vertices.size(); i++) {
+			indexMap.put(vertices.get(i), i);
+			queue.insert(i, vertices.get(i).getKey());
+		}
 		while (!queue.isEmpty()) {
-			System.out.println(queue.toString());
-			Vertex<T> node = queue.poll();
-			for (Vertex<T> item : graph.getList(node)) {
-				if ((graph.edgeWeight(node, item) < item.getKey()) && queue.contains(item)) {
-					item.setKey(graph.edgeWeight(node, item));
+			Vertex<T> node = vertices.get(queue.poll());
+			for (Map.Entry<Vertex<T>, Integer> entry : graph.getEdges(node).entrySet()) {
+				Vertex<T> item = entry.getKey();
+				int index = indexMap.get(item);
+				if (queue.contains(index) && entry.getValue() < item.getKey()) {
+					item.setKey(entry.getValue());
 					item.setParent(node);
+					queue.decreaseKey(index, item.getKey());
 				}
 			}
-			queue = priorityQueue(queue);
 		}
 	}
 
@@ -44,19 +51,6 @@ public class PrimMST<T> {
 		return str;
 	}
 
-	private PriorityQueue<Vertex<T>> priorityQueue(final Collection<Vertex<T>> col) {
-		PriorityQueue<Vertex<T>> queue = new PriorityQueue<>(SIZE, new Comparator<Vertex<T>>() {
-			@Override
-			public int compare(final Vertex<T> vertex1, final Vertex<T> vertex2) {
-				return vertex1.getKey() - vertex2.getKey();
-			}
-		});
-		for (Vertex<T> vertex : col) {
-			queue.add(vertex);
-		}
-		return queue;
-	}
-
 	/**
 	 * main.
 	 */
@@ -0,0 +1,38 @@
+package com.algo.graph;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Path between two vertices and its cost.
+ */
+public class ShortestPath<T> {
+	private final List<Vertex<T>> vertices;
+	private final long cost;
+
+	public ShortestPath(final List<Vertex<T>> vertices, final long cost) {
+		this.vertices = Collections.unmodifiableList(vertices);
+		this.cost = cost;
+	}
+
+	/**
+	 * Vertices from source to target, both included.
+	 */
+	public List<Vertex<T>> getVertices() {
+		return vertices;
+	}
+
+	public long getCost() {
+		return cost;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		for (Vertex<T> vertex : vertices) {
+			str.append("[").append(vertex.getValue()).append("]").append("-->");
+		}
+		return str.append(cost).toString();
+	}
+
+}
@@ -0,0 +1,294 @@
+package com.algo.graph;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single source shortest path trees of an adjacency list graph, kept for the
+ * most recently used sources within a memory budget.
+ *
+ * Trees are computed on a Compressed Sparse Row snapshot of the graph and
+ * stamped with the graph version they were computed at. Edges added through
+ * {@link #addEdge} drop only the trees the new edge can change and restamp the
+ * rest; edges added to the graph directly make every older tree stale, and a
+ * stale tree is dropped when it is next asked for.
+ *
+ * A tree keeps the snapshot it was computed on, so the budget counts every
+ * snapshot still held by a cached tree once, along with the trees.
+ */
+public class ShortestPathCache<T> {
+
+	/**
+	 * How a tree is computed.
+	 */
+	public enum Kind {
+		/** Link weights, with Dijkstra. */
+		DIJKSTRA,
+		/** Link counts, with Breadth First Search. */
+		BFS
+	}
+
+	private final ALGraph<T> graph;
+	private final long maxBytes;
+	private final LinkedHashMap<Key<T>, Entry<T>> entries;
+	private final IdentityHashMap<CSRGraph<T>, Integer> snapshots;
+	private CSRGraph<T> snapshot;
+	private long snapshotVersion;
+	private CSRDijkstra dijkstra;
+	private CSRBFS bfs;
+	private long bytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+	private long invalidations;
+
+	public ShortestPathCache(final ALGraph<T> graph, final long maxBytes) {
+		this.graph = graph;
+		this.maxBytes = maxBytes;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true);
+		this.snapshots = new IdentityHashMap<>();
+		this.snapshotVersion = -1;
+	}
+
+	/**
+	 * Shortest paths by link weight from the source.
+	 */
+	public ShortestPathTree<T> dijkstra(final Vertex<T> source) {
+		return get(Kind.DIJKSTRA, source);
+	}
+
+	/**
+	 * Shortest paths by link count from the source.
+	 */
+	public ShortestPathTree<T> bfs(final Vertex<T> source) {
+		return get(Kind.BFS, source);
+	}
+
+	/**
+	 * The cached tree, computed on a miss.
+	 */
+	public ShortestPathTree<T> get(final Kind kind, final Vertex<T> source) {
+		Key<T> key = new Key<>(kind, source);
+		CSRGraph<T> csr;
+		CSRDijkstra sdijkstra;
+		CSRBFS sbfs;
+		long version;
+		synchronized (this) {
+			version = graph.getVersion();
+			Entry<T> entry = entries.get(key);
+			if (entry != null && entry.version == version) {
+				hits++;
+				return entry.tree;
+			}
+			if (entry != null) {
+				remove(key);
+				invalidations++;
+			}
+			misses++;
+			csr = snapshot();
+			sdijkstra = dijkstra;
+			sbfs = bfs;
+		}
+		int index = csr.index(source);
+		if (index < 0) {
+			throw new IllegalArgumentException("vertex not in graph: " + source);
+		}
+		ShortestPathTree<T> tree;
+		if (kind == Kind.DIJKSTRA) {
+			TraversalState state = sdijkstra.compute(index);
+			tree = ShortestPathTree.of(csr, index, state);
+			sdijkstra.release(state);
+		} else {
+			TraversalState state = sbfs.compute(index);
+			tree = ShortestPathTree.of(csr, index, state);
+			sbfs.release(state);
+		}
+		synchronized (this) {
+			if (graph.getVersion() == version && !entries.containsKey(key)) {
+				Entry<T> entry = new Entry<>(tree, csr, version);
+				entries.put(key, entry);
+				add(entry);
+				evict();
+			}
+		}
+		return tree;
+	}
+
+	/**
+	 * Add an edge to the graph, dropping only the trees it can change.
+	 */
+	public synchronized ShortestPathCache<T> addEdge(final Vertex<T> vertex1, final Vertex<T> vertex2,
+	        final int weight) {
+		long version = graph.getVersion();
+		graph.addEdge(vertex1, vertex2, weight);
+		Iterator<Map.Entry<Key<T>, Entry<T>>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Key<T>, Entry<T>> item = iterator.next();
+			Entry<T> entry = item.getValue();
+			long linkWeight = item.getKey().kind == Kind.DIJKSTRA ? weight : 1;
+			boolean affected = entry.tree.isAffected(vertex1, vertex2, linkWeight)
+			        || !graph.isDirected() && entry.tree.isAffected(vertex2, vertex1, linkWeight);
+			if (entry.version != version || affected) {
+				iterator.remove();
+				drop(entry);
+				invalidations++;
+			} else {
+				entry.version = graph.getVersion();
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * Drop every tree.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		snapshots.clear();
+		bytes = 0;
+	}
+
+	private CSRGraph<T> snapshot() {
+		if (snapshotVersion != graph.getVersion()) {
+			snapshot = new CSRGraph<>(graph);
+			snapshotVersion = graph.getVersion();
+			dijkstra = new CSRDijkstra(snapshot);
+			bfs = new CSRBFS(snapshot);
+		}
+		return snapshot;
+	}
+
+	private void remove(final Key<T> key) {
+		Entry<T> entry = entries.remove(key);
+		if (entry != null) {
+			drop(entry);
+		}
+	}
+
+	/**
+	 * Count a cached tree, and its snapshot when no other cached tree holds it.
+	 */
+	private void add(final Entry<T> entry) {
+		bytes += entry.tree.bytes();
+		if (snapshots.merge(entry.snapshot, 1, Integer::sum) == 1) {
+			bytes += entry.snapshot.bytes();
+		}
+	}
+
+	/**
+	 * Stop counting a tree dropped from the cache, and its snapshot when no
+	 * other cached tree holds it.
+	 */
+	private void drop(final Entry<T> entry) {
+		bytes -= entry.tree.bytes();
+		if (snapshots.merge(entry.snapshot, -1, Integer::sum) == 0) {
+			snapshots.remove(entry.snapshot);
+			bytes -= entry.snapshot.bytes();
+		}
+	}
+
+	/**
+	 * Drop least recently used trees until the budget holds.
+	 */
+	private void evict() {
+		Iterator<Entry<T>> iterator = entries.values().iterator();
+		while (bytes > maxBytes && iterator.hasNext()) {
+			Entry<T> entry = iterator.next();
+			iterator.remove();
+			drop(entry);
+			evictions++;
+		}
+	}
+
+	public synchronized long hitCount() {
+		return hits;
+	}
+
+	public synchronized long missCount() {
+		return misses;
+	}
+
+	public synchronized long evictionCount() {
+		return evictions;
+	}
+
+	public synchronized long invalidationCount() {
+		return invalidations;
+	}
+
+	/**
+	 * The approximate size of the cached trees and the snapshots they hold.
+	 */
+	public synchronized long bytes() {
+		return bytes;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private static final class Key<T> {
+		private final Kind kind;
+		private final Vertex<T> source;
+
+		Key(final Kind kind, final Vertex<T> source) {
+			this.kind = kind;
+			this.source = source;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * kind.hashCode() + source.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key<?> other = (Key<?>) obj;
+			return kind == other.kind && source.equals(other.source);
+		}
+	}
+
+	private static final class Entry<T> {
+		private final ShortestPathTree<T> tree;
+		private final CSRGraph<T> snapshot;
+		private long version;
+
+		Entry(final ShortestPathTree<T> tree, final CSRGraph<T> snapshot, final long version) {
+			this.tree = tree;
+			this.snapshot = snapshot;
+			this.version = version;
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> s = new Vertex<>("s");
+		Vertex<String> t = new Vertex<>("t");
+		Vertex<String> x = new Vertex<>("x");
+		Vertex<String> z = new Vertex<>("z");
+		Vertex<String> y = new Vertex<>("y");
+
+		ALGraph<String> graph = new ALGraph<>(true);
+		graph.addEdge(s, t, 10).addEdge(s, y, 5).addEdge(t, y, 2).addEdge(t, x, 1).addEdge(y, z, 2).addEdge(y, x, 9)
+		        .addEdge(y, t, 3).addEdge(x, z, 4).addEdge(z, s, 7).addEdge(z, x, 6);
+
+		ShortestPathCache<String> cache = new ShortestPathCache<>(graph, 1 << 20);
+		System.out.println(cache.dijkstra(s).path(x));
+		System.out.println(cache.dijkstra(s).path(x));
+		System.out.println(cache.bfs(s).path(x));
+		cache.addEdge(t, s, 1);
+		System.out.println(cache.dijkstra(s).path(x));
+		cache.addEdge(s, x, 1);
+		System.out.println(cache.dijkstra(s).path(x));
+		System.out.println("hits " + cache.hitCount() + " misses " + cache.missCount() + " invalidations "
+		        + cache.invalidationCount() + " evictions " + cache.evictionCount());
+	}
+
+}
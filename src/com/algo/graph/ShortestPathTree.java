@@ -0,0 +1,95 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distances and parents from one source, a snapshot that stays unchanged when
+ * the graph it was computed on changes.
+ */
+public class ShortestPathTree<T> {
+	private final CompactGraph<T> graph;
+	private final int source;
+	private final long[] distance;
+	private final int[] parent;
+
+	public ShortestPathTree(final CompactGraph<T> graph, final int source, final long[] distance, final int[] parent) {
+		this.graph = graph;
+		this.source = source;
+		this.distance = distance;
+		this.parent = parent;
+	}
+
+	/**
+	 * Copy the distances and parents of a traversal state.
+	 */
+	public static <T> ShortestPathTree<T> of(final CompactGraph<T> graph, final int source,
+	        final TraversalState state) {
+		int size = graph.vertexCount();
+		long[] distance = new long[size];
+		int[] parent = new int[size];
+		for (int v = 0; v < size; v++) {
+			distance[v] = state.distance(v);
+			parent[v] = state.parent(v);
+		}
+		return new ShortestPathTree<>(graph, source, distance, parent);
+	}
+
+	public Vertex<T> getSource() {
+		return graph.vertex(source);
+	}
+
+	/**
+	 * The distance from the source, TraversalState.INFINITY when not reachable.
+	 */
+	public long distance(final Vertex<T> vertex) {
+		int index = graph.index(vertex);
+		return index < 0 ? TraversalState.INFINITY : distance[index];
+	}
+
+	/**
+	 * The predecessor in the tree, null for the source and unreachable
+	 * vertices.
+	 */
+	public Vertex<T> parent(final Vertex<T> vertex) {
+		int index = graph.index(vertex);
+		return index < 0 || parent[index] < 0 ? null : graph.vertex(parent[index]);
+	}
+
+	/**
+	 * Path from the source, null when the vertex is not reachable.
+	 */
+	public ShortestPath<T> path(final Vertex<T> vertex) {
+		int index = graph.index(vertex);
+		if (index < 0 || distance[index] == TraversalState.INFINITY) {
+			return null;
+		}
+		List<Vertex<T>> vertices = new ArrayList<>();
+		for (int node = index; node >= 0; node = parent[node]) {
+			vertices.add(0, graph.vertex(node));
+		}
+		return new ShortestPath<>(vertices, distance[index]);
+	}
+
+	/**
+	 * Whether adding the link vertex1 -> vertex2 of the given weight can change
+	 * this tree: the link shortens the way to vertex2, or replaces the tree
+	 * link into vertex2 with one that may be longer.
+	 */
+	boolean isAffected(final Vertex<T> vertex1, final Vertex<T> vertex2, final long weight) {
+		int index1 = graph.index(vertex1);
+		if (index1 < 0 || distance[index1] == TraversalState.INFINITY) {
+			return false;
+		}
+		int index2 = graph.index(vertex2);
+		return index2 < 0 || distance[index1] + weight < distance[index2] || parent[index2] == index1;
+	}
+
+	/**
+	 * Approximate heap size of the arrays.
+	 */
+	long bytes() {
+		return 12L * distance.length + 64;
+	}
+
+}
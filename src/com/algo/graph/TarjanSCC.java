@@ -0,0 +1,192 @@
+package com.algo.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strongly Connected Components in one Depth First pass, Tarjan's algorithm
+ * in Pearce's form which keeps one index per vertex in place of index, low
+ * link and on stack flag.
+ *
+ * Components are numbered in the order they complete, which is a reverse
+ * topological order of the condensation: every link between two components
+ * goes from the higher id to the lower one.
+ */
+public class TarjanSCC {
+
+	private final CompactGraph<?> graph;
+	private int count;
+
+	public TarjanSCC(final CompactGraph<?> graph) {
+		this.graph = graph;
+	}
+
+	/**
+	 * Strongly Connected Components, the component of each vertex.
+	 */
+	public int[] compute() {
+		int size = graph.vertexCount();
+		// visit index while open, size - 1 - component once assigned.
+		int[] rindex = new int[size];
+		boolean[] root = new boolean[size];
+		int[] stack = new int[size];
+		int[] call = new int[size];
+		long[] cursor = new long[size];
+		int sp = 0;
+		int index = 1;
+		int c = size - 1;
+
+		for (int source = 0; source < size; source++) {
+			if (rindex[source] != 0) {
+				continue;
+			}
+			int top = 0;
+			call[0] = source;
+			cursor[0] = graph.begin(source);
+			rindex[source] = index++;
+			root[source] = true;
+			while (top >= 0) {
+				int vertex = call[top];
+				if (cursor[top] < graph.end(vertex)) {
+					int node = graph.target(cursor[top]);
+					if (rindex[node] == 0) {
+						// descend, the link is looked at again on return.
+						rindex[node] = index++;
+						root[node] = true;
+						call[++top] = node;
+						cursor[top] = graph.begin(node);
+						continue;
+					}
+					if (rindex[node] < rindex[vertex]) {
+						rindex[vertex] = rindex[node];
+						root[vertex] = false;
+					}
+					cursor[top]++;
+					continue;
+				}
+				top--;
+				if (root[vertex]) {
+					index--;
+					while (sp > 0 && rindex[vertex] <= rindex[stack[sp - 1]]) {
+						rindex[stack[--sp]] = c;
+						index--;
+					}
+					rindex[vertex] = c--;
+				} else {
+					stack[sp++] = vertex;
+				}
+			}
+		}
+
+		count = size - 1 - c;
+		for (int vertex = 0; vertex < size; vertex++) {
+			rindex[vertex] = size - 1 - rindex[vertex];
+		}
+		return rindex;
+	}
+
+	/**
+	 * The number of components found by the last computation.
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * The condensation of the graph, one vertex per component with the
+	 * component id as value and one link per pair of linked components
+	 * carrying the smallest weight between them.
+	 */
+	public CSRGraph<Integer> condensation(final int[] component) {
+		int size = component.length;
+		// vertices grouped by component.
+		int[] offsets = new int[count + 1];
+		for (int vertex = 0; vertex < size; vertex++) {
+			offsets[component[vertex] + 1]++;
+		}
+		for (int i = 0; i < count; i++) {
+			offsets[i + 1] += offsets[i];
+		}
+		int[] members = new int[size];
+		int[] next = offsets.clone();
+		for (int vertex = 0; vertex < size; vertex++) {
+			members[next[component[vertex]]++] = vertex;
+		}
+
+		List<Vertex<Integer>> vertices = new ArrayList<>(count);
+		CSRGraph.Builder<Integer> builder = new CSRGraph.Builder<>(true);
+		for (int i = 0; i < count; i++) {
+			vertices.add(new Vertex<>(i));
+			builder.addVertex(vertices.get(i));
+		}
+		int[] mark = new int[count];
+		int[] weight = new int[count];
+		int[] targets = new int[count];
+		for (int i = 0; i < count; i++) {
+			int found = 0;
+			for (int m = offsets[i]; m < offsets[i + 1]; m++) {
+				int vertex = members[m];
+				for (long e = graph.begin(vertex), end = graph.end(vertex); e < end; e++) {
+					int j = component[graph.target(e)];
+					if (j == i) {
+						continue;
+					}
+					if (mark[j] != i + 1) {
+						mark[j] = i + 1;
+						weight[j] = graph.weight(e);
+						targets[found++] = j;
+					} else {
+						weight[j] = Math.min(weight[j], graph.weight(e));
+					}
+				}
+			}
+			for (int k = 0; k < found; k++) {
+				builder.addEdge(vertices.get(i), vertices.get(targets[k]), weight[targets[k]]);
+			}
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Print the vertices of each component.
+	 */
+	public void display(final int[] component) {
+		List<List<Vertex<?>>> components = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			components.add(new ArrayList<Vertex<?>>());
+		}
+		for (int vertex = 0; vertex < component.length; vertex++) {
+			components.get(component[vertex]).add(graph.vertex(vertex));
+		}
+		for (int i = 0; i < count; i++) {
+			System.out.println("---" + i + "----");
+			System.out.println(components.get(i).toString());
+		}
+	}
+
+	/**
+	 * main.
+	 */
+	public static void main(final String[] args) {
+		Vertex<String> a = new Vertex<>("a");
+		Vertex<String> b = new Vertex<>("b");
+		Vertex<String> c = new Vertex<>("c");
+		Vertex<String> d = new Vertex<>("d");
+		Vertex<String> e = new Vertex<>("e");
+		Vertex<String> f = new Vertex<>("f");
+		Vertex<String> g = new Vertex<>("g");
+		Vertex<String> h = new Vertex<>("h");
+
+		ALGraph<String> dgraph = new ALGraph<>(true);
+		dgraph.addEdge(a, b, 1).addEdge(b, e, 1).addEdge(e, a, 1).addEdge(b, f, 1).addEdge(e, f, 1).addEdge(b, c, 1)
+		        .addEdge(b, f, 1).addEdge(c, g, 1).addEdge(f, g, 1).addEdge(g, f, 1).addEdge(c, d, 1).addEdge(d, c, 1)
+		        .addEdge(g, h, 1).addEdge(d, h, 1).addEdge(h, h, 1);
+
+		TarjanSCC scc = new TarjanSCC(new CSRGraph<>(dgraph));
+		int[] component = scc.compute();
+		scc.display(component);
+		System.out.println("");
+		scc.condensation(component).displayGraph();
+	}
+
+}
@@ -20,13 +20,9 @@ public class TransitiveClosure<T> {
 	public int[][] compute() {
 		int[][] initial = initialize();
 		for (int k = 0; k < size; k++) {
-			int[][] result = new int[size][size];
 			for (int i = 0; i < size; i++) {
-				for (int j = 0; j < size; j++) {
-					result[i][j] = initial[i][j] | (initial[i][k] & initial[k][j]);
-				}
+				MatrixKernel.orAnd(initial[i], 0, initial[k], 0, size, initial[i][k]);
 			}
-			initial = result;
 		}
 		return initial;
 	}
@@ -0,0 +1,202 @@
+package com.algo.graph;
+
+import java.util.Arrays;
+
+/**
+ * The working state of one traversal, indexed by vertex index.
+ *
+ * Replaces the color, distance, key, parent, first and last fields of
+ * {@link Vertex} so that queries on a shared graph do not interfere. A vertex
+ * holds values only once it is touched in the current epoch, so a reset is
+ * O(1) and a state can be reused without clearing its arrays.
+ */
+public class TraversalState {
+
+	/**
+	 * The distance of a vertex that is not reached.
+	 */
+	public static final long INFINITY = Long.MAX_VALUE;
+
+	public static final byte WHITE = 0;
+	public static final byte GRAY = 1;
+	public static final byte BLACK = 2;
+
+	private final int size;
+	private final int[] stamp;
+	private final long[] distance;
+	private final int[] parent;
+	private final byte[] color;
+	private final int[] queue;
+	private int[] first;
+	private int[] last;
+	private int[] tree;
+	private long[] cursor;
+	private int[] finished;
+	private int finishedStart;
+	private IndexedHeap heap;
+	private int epoch;
+
+	public TraversalState(final int size) {
+		this.size = size;
+		this.stamp = new int[size];
+		this.distance = new long[size];
+		this.parent = new int[size];
+		this.color = new byte[size];
+		this.queue = new int[size];
+		this.epoch = 1;
+	}
+
+	/**
+	 * Forget every vertex.
+	 */
+	public void reset() {
+		epoch++;
+		if (epoch == Integer.MAX_VALUE) {
+			Arrays.fill(stamp, 0);
+			epoch = 1;
+		}
+		finishedStart = size;
+		if (heap != null) {
+			heap.clear();
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private void touch(final int vertex) {
+		if (stamp[vertex] != epoch) {
+			stamp[vertex] = epoch;
+			distance[vertex] = INFINITY;
+			parent[vertex] = -1;
+			color[vertex] = WHITE;
+		}
+	}
+
+	/**
+	 * Whether the vertex was touched since the last reset.
+	 */
+	public boolean isTouched(final int vertex) {
+		return stamp[vertex] == epoch;
+	}
+
+	public byte color(final int vertex) {
+		return stamp[vertex] == epoch ? color[vertex] : WHITE;
+	}
+
+	public void setColor(final int vertex, final byte value) {
+		touch(vertex);
+		color[vertex] = value;
+	}
+
+	/**
+	 * The distance or key of the vertex, {@link #INFINITY} when not reached.
+	 */
+	public long distance(final int vertex) {
+		return stamp[vertex] == epoch ? distance[vertex] : INFINITY;
+	}
+
+	public void setDistance(final int vertex, final long value) {
+		touch(vertex);
+		distance[vertex] = value;
+	}
+
+	/**
+	 * The predecessor of the vertex, -1 for none.
+	 */
+	public int parent(final int vertex) {
+		return stamp[vertex] == epoch ? parent[vertex] : -1;
+	}
+
+	public void setParent(final int vertex, final int value) {
+		touch(vertex);
+		parent[vertex] = value;
+	}
+
+	/**
+	 * The discovery time of the vertex, 0 when not discovered.
+	 */
+	public int first(final int vertex) {
+		return stamp[vertex] == epoch && first != null ? first[vertex] : 0;
+	}
+
+	/**
+	 * Discover the vertex, it turns gray.
+	 */
+	public void setFirst(final int vertex, final int time, final int root) {
+		if (first == null) {
+			first = new int[size];
+			last = new int[size];
+			tree = new int[size];
+		}
+		setColor(vertex, GRAY);
+		first[vertex] = time;
+		tree[vertex] = root;
+	}
+
+	/**
+	 * The finishing time of the vertex, 0 when not finished.
+	 */
+	public int last(final int vertex) {
+		return color(vertex) == BLACK && last != null ? last[vertex] : 0;
+	}
+
+	/**
+	 * Finish the vertex, it turns black and is put in front of the finished
+	 * vertices.
+	 */
+	public void setLast(final int vertex, final int time) {
+		if (finished == null) {
+			finished = new int[size];
+		}
+		setColor(vertex, BLACK);
+		last[vertex] = time;
+		finished[--finishedStart] = vertex;
+	}
+
+	/**
+	 * The Depth First Tree containing the vertex.
+	 */
+	public int tree(final int vertex) {
+		return stamp[vertex] == epoch && tree != null ? tree[vertex] : -1;
+	}
+
+	/**
+	 * The vertices by decreasing finishing time.
+	 */
+	public int[] finished() {
+		if (finished == null) {
+			return new int[0];
+		}
+		return Arrays.copyOfRange(finished, finishedStart, size);
+	}
+
+	/**
+	 * Scratch space for a queue or a stack of vertices.
+	 */
+	public int[] queue() {
+		return queue;
+	}
+
+	/**
+	 * Scratch space for a link position per vertex.
+	 */
+	public long[] cursor() {
+		if (cursor == null) {
+			cursor = new long[size];
+		}
+		return cursor;
+	}
+
+	/**
+	 * Scratch priority queue of vertices, emptied on reset.
+	 */
+	public IndexedHeap heap() {
+		if (heap == null) {
+			heap = new IndexedHeap(size);
+		}
+		return heap;
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.algo.graph;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Reusable traversal states for a graph, safe to share between threads.
+ */
+public class TraversalStatePool {
+
+	private final int size;
+	private final ConcurrentLinkedQueue<TraversalState> states;
+
+	public TraversalStatePool(final int size) {
+		this.size = size;
+		this.states = new ConcurrentLinkedQueue<>();
+	}
+
+	/**
+	 * A reset state, reused when one was released.
+	 */
+	public TraversalState acquire() {
+		TraversalState state = states.poll();
+		if (state == null) {
+			state = new TraversalState(size);
+		}
+		state.reset();
+		return state;
+	}
+
+	/**
+	 * Give back a state that is no longer read.
+	 */
+	public void release(final TraversalState state) {
+		states.offer(state);
+	}
+
+}